@@ -0,0 +1,82 @@
+package com.eaapp.benchmarks;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.entity.StringEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.eaapp.core.HealerHttpClient;
+import com.eaapp.core.HealingPrompts;
+
+/**
+ * One AI heal request over the pooled client against a local {@link ChatCompletionsStandIn}:
+ * send the prompt, read the response, extract and parse the candidates.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AiRoundTripBenchmark {
+
+    // 0 isolates client overhead; 20 ms gives the pool something to overlap
+    @Param({ "0", "20" })
+    public long serverLatencyMillis;
+
+    private ChatCompletionsStandIn server;
+    private HealerHttpClient client;
+    private String payload;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        server = new ChatCompletionsStandIn()
+                .withResponder(prompt -> ResponseParsingBenchmark.LOCATOR_ARRAY)
+                .withLatency(serverLatencyMillis, serverLatencyMillis)
+                .start();
+        client = new HealerHttpClient();
+        payload = HealingPrompts.singleLocatorPayload("gpt-4o-mini", 0.7, StubPage.employeeListSource(20),
+                "//input[@id='SearchString1']", "Search input field on employee list page").toString();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        client.close();
+        server.close();
+    }
+
+    @Benchmark
+    public List<String> roundTrip() throws IOException {
+        return heal();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public List<String> roundTripContended() throws IOException {
+        return heal();
+    }
+
+    private List<String> heal() throws IOException {
+        HttpPost post = new HttpPost(server.getEndpoint());
+        post.setHeader("Content-Type", "application/json");
+        post.setHeader("Authorization", "Bearer stub-key");
+        post.setEntity(new StringEntity(payload, "UTF-8"));
+        return HealingPrompts.parseLocatorArray(HealingPrompts.extractContent(client.execute(post)));
+    }
+}
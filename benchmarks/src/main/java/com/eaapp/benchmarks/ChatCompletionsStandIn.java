@@ -0,0 +1,380 @@
+package com.eaapp.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Embedded OpenAI-compatible {@code /v1/chat/completions} endpoint for offline and load runs.
+ * Answers with scripted contents first, then with XPath candidates derived from the locators
+ * named in the prompt, as one JSON body or, for {@code "stream": true}, as server-sent events.
+ * Latency, generation speed and error rate are configurable and the random source is seeded,
+ * so a run is reproducible. Point the {@code uri} config key at {@link #getEndpoint()}.
+ */
+public class ChatCompletionsStandIn implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(ChatCompletionsStandIn.class);
+    private static final String PATH = "/v1/chat/completions";
+
+    private static final Pattern SINGLE_LOCATOR = Pattern.compile("original XPath locator \"(.+?)\" for element");
+    private static final Pattern BATCH_LOCATOR = Pattern.compile("- key \"(.+?)\": original XPath \"(.+?)\"");
+    private static final Pattern ATTRIBUTE_EQUALS = Pattern.compile("@([\\w-]+)\\s*=\\s*'([^']*)'");
+    // Roughly two tokens per streamed chunk
+    private static final int STREAM_CHUNK_CHARS = 8;
+
+    private final Queue<String> scripted = new ConcurrentLinkedQueue<>();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private final Random random;
+    private final int port;
+
+    private Function<String, String> responder = ChatCompletionsStandIn::ruleBasedContent;
+    private long minLatencyMs;
+    private long maxLatencyMs;
+    private long chunkIntervalMs;
+    private double errorRate;
+    private int[] errorStatuses = { 429 };
+    private HttpServer server;
+    private ExecutorService executor;
+
+    /** A stand-in on an ephemeral loopback port with a fixed seed. */
+    public ChatCompletionsStandIn() {
+        this(0, 42L);
+    }
+
+    public ChatCompletionsStandIn(int port, long seed) {
+        this.port = port;
+        this.random = new Random(seed);
+    }
+
+    /** Contents returned verbatim, one per request and in order, before the responder is used. */
+    public ChatCompletionsStandIn script(String... contents) {
+        scripted.addAll(Arrays.asList(contents));
+        return this;
+    }
+
+    /** Derives the assistant content from the user prompt; defaults to {@link #ruleBasedContent(String)}. */
+    public ChatCompletionsStandIn withResponder(Function<String, String> responder) {
+        this.responder = responder;
+        return this;
+    }
+
+    /** Uniformly distributed server-side delay per request. */
+    public ChatCompletionsStandIn withLatency(long minMs, long maxMs) {
+        this.minLatencyMs = minMs;
+        this.maxLatencyMs = Math.max(minMs, maxMs);
+        return this;
+    }
+
+    /**
+     * Generation time per {@value #STREAM_CHUNK_CHARS}-character chunk of content: the gap between
+     * streamed chunks, and added up before a non-streamed answer is sent. The latency set with
+     * {@link #withLatency} then models the time to the first token.
+     */
+    public ChatCompletionsStandIn withChunkInterval(long millis) {
+        this.chunkIntervalMs = millis;
+        return this;
+    }
+
+    /** Fraction of requests answered with an OpenAI-style error, picking one of {@code statuses}. */
+    public ChatCompletionsStandIn withErrors(double rate, int... statuses) {
+        this.errorRate = rate;
+        if (statuses.length > 0) {
+            this.errorStatuses = statuses.clone();
+        }
+        return this;
+    }
+
+    public ChatCompletionsStandIn start() throws IOException {
+        // Without TCP_NODELAY, Nagle plus delayed ACKs adds ~40 ms to every exchange. The JDK
+        // server reads this once, when the first HttpServer in the JVM is created.
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "chat-stand-in");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.createContext(PATH, this::handle);
+        server.setExecutor(executor);
+        server.start();
+        logger.info("Chat-completions stand-in listening on {} (latency {}-{}ms, error rate {})",
+                getEndpoint(), minLatencyMs, maxLatencyMs, errorRate);
+        return this;
+    }
+
+    public String getEndpoint() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + PATH;
+    }
+
+    public long getRequests() {
+        return requests.get();
+    }
+
+    public long getErrors() {
+        return errors.get();
+    }
+
+    @Override
+    public void close() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            logger.info("Chat-completions stand-in stopped after {} requests ({} errors)", requests.get(), errors.get());
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        String requestBody = read(exchange.getRequestBody());
+        long delayMs;
+        boolean fail;
+        int errorStatus;
+        synchronized (random) {
+            delayMs = maxLatencyMs > minLatencyMs
+                    ? minLatencyMs + (long) (random.nextDouble() * (maxLatencyMs - minLatencyMs)) : minLatencyMs;
+            fail = random.nextDouble() < errorRate;
+            errorStatus = errorStatuses[random.nextInt(errorStatuses.length)];
+        }
+        sleep(delayMs);
+
+        int status;
+        String responseBody;
+        if (fail) {
+            errors.incrementAndGet();
+            status = errorStatus;
+            responseBody = error(status);
+        } else {
+            try {
+                String content = scripted.poll();
+                if (content == null) {
+                    content = responder.apply(userPrompt(requestBody));
+                }
+                if (isStreaming(requestBody)) {
+                    stream(exchange, content);
+                    return;
+                }
+                sleep(chunkIntervalMs * chunks(content));
+                status = 200;
+                responseBody = completion(content);
+            } catch (RuntimeException e) {
+                errors.incrementAndGet();
+                status = 400;
+                responseBody = errorBody("Stand-in could not answer: " + e.getMessage(), "invalid_request_error");
+            }
+        }
+
+        byte[] bytes = responseBody.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private void stream(HttpExchange exchange, String content) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+        exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream out = exchange.getResponseBody()) {
+            for (int from = 0; from < content.length(); from += STREAM_CHUNK_CHARS) {
+                if (from > 0) {
+                    sleep(chunkIntervalMs);
+                }
+                String delta = content.substring(from, Math.min(content.length(), from + STREAM_CHUNK_CHARS));
+                writeEvent(out, chunk(delta, null));
+            }
+            writeEvent(out, chunk(null, "stop"));
+            writeEvent(out, "[DONE]");
+        } catch (IOException e) {
+            // The client stopped reading early, as streaming callers do once a candidate verifies
+            logger.debug("Stream closed by client: {}", e.getMessage());
+        }
+    }
+
+    private static void writeEvent(OutputStream out, String data) throws IOException {
+        out.write(("data: " + data + "\n\n").getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    private static int chunks(String content) {
+        return (content.length() + STREAM_CHUNK_CHARS - 1) / STREAM_CHUNK_CHARS;
+    }
+
+    private static void sleep(long millis) {
+        if (millis > 0) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Three candidates per locator named in the prompt: the attribute tests as contains(),
+     * the same with trailing digits dropped from the values, and the original. Single prompts
+     * get a JSON array, batch prompts a JSON object keyed by element key.
+     */
+    public static String ruleBasedContent(String userPrompt) {
+        Matcher single = SINGLE_LOCATOR.matcher(userPrompt);
+        if (single.find()) {
+            return new Gson().toJson(candidates(single.group(1)));
+        }
+        Map<String, List<String>> batch = new LinkedHashMap<>();
+        Matcher keys = BATCH_LOCATOR.matcher(userPrompt);
+        while (keys.find()) {
+            batch.put(keys.group(1), candidates(keys.group(2)));
+        }
+        if (batch.isEmpty()) {
+            throw new IllegalArgumentException("prompt names no XPath locator");
+        }
+        return new Gson().toJson(batch);
+    }
+
+    static List<String> candidates(String originalXPath) {
+        String contains = ATTRIBUTE_EQUALS.matcher(originalXPath).replaceAll("contains(@$1,'$2')");
+        Matcher attributes = ATTRIBUTE_EQUALS.matcher(originalXPath);
+        StringBuffer trimmed = new StringBuffer();
+        while (attributes.find()) {
+            String value = attributes.group(2).replaceAll("\\d+$", "");
+            attributes.appendReplacement(trimmed, Matcher.quoteReplacement(
+                    "contains(@" + attributes.group(1) + ",'" + value + "')"));
+        }
+        attributes.appendTail(trimmed);
+        List<String> candidates = new ArrayList<>();
+        candidates.add(contains);
+        candidates.add(trimmed.toString());
+        candidates.add(originalXPath);
+        return candidates;
+    }
+
+    private static String userPrompt(String requestBody) {
+        JsonArray messages = JsonParser.parseString(requestBody).getAsJsonObject().getAsJsonArray("messages");
+        for (JsonElement message : messages) {
+            if ("user".equals(message.getAsJsonObject().get("role").getAsString())) {
+                return message.getAsJsonObject().get("content").getAsString();
+            }
+        }
+        throw new IllegalArgumentException("request has no user message");
+    }
+
+    private static boolean isStreaming(String requestBody) {
+        JsonElement stream = JsonParser.parseString(requestBody).getAsJsonObject().get("stream");
+        return stream != null && stream.isJsonPrimitive() && stream.getAsBoolean();
+    }
+
+    // One chat.completion.chunk event; a null delta marks the final chunk
+    private static String chunk(String delta, String finishReason) {
+        JsonObject deltaJson = new JsonObject();
+        if (delta != null) {
+            deltaJson.addProperty("content", delta);
+        }
+        JsonObject choice = new JsonObject();
+        choice.addProperty("index", 0);
+        choice.add("delta", deltaJson);
+        choice.addProperty("finish_reason", finishReason);
+        JsonArray choices = new JsonArray();
+        choices.add(choice);
+        JsonObject body = new JsonObject();
+        body.addProperty("id", "chatcmpl-stand-in");
+        body.addProperty("object", "chat.completion.chunk");
+        body.addProperty("created", System.currentTimeMillis() / 1000);
+        body.addProperty("model", "stand-in");
+        body.add("choices", choices);
+        return body.toString();
+    }
+
+    private static String completion(String content) {
+        JsonObject message = new JsonObject();
+        message.addProperty("role", "assistant");
+        message.addProperty("content", content);
+        JsonObject choice = new JsonObject();
+        choice.addProperty("index", 0);
+        choice.add("message", message);
+        choice.addProperty("finish_reason", "stop");
+        JsonArray choices = new JsonArray();
+        choices.add(choice);
+        JsonObject body = new JsonObject();
+        body.addProperty("id", "chatcmpl-stand-in");
+        body.addProperty("object", "chat.completion");
+        body.addProperty("created", System.currentTimeMillis() / 1000);
+        body.addProperty("model", "stand-in");
+        body.add("choices", choices);
+        return body.toString();
+    }
+
+    private static String error(int status) {
+        if (status == 429) {
+            return errorBody("Rate limit reached (stand-in)", "rate_limit_exceeded");
+        }
+        return errorBody("The server had an error while processing your request (stand-in)", "server_error");
+    }
+
+    private static String errorBody(String message, String type) {
+        JsonObject error = new JsonObject();
+        error.addProperty("message", message);
+        error.addProperty("type", type);
+        JsonObject body = new JsonObject();
+        body.add("error", error);
+        return body.toString();
+    }
+
+    private static String read(InputStream in) throws IOException {
+        try (InputStream body = in) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            for (int n; (n = body.read(buffer)) != -1;) {
+                out.write(buffer, 0, n);
+            }
+            return new String(out.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Standalone: {@code java -cp benchmarks/target/benchmarks.jar com.eaapp.benchmarks.ChatCompletionsStandIn
+     * [port] [minLatencyMs] [maxLatencyMs] [errorRate] [chunkIntervalMs]}.
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8089;
+        long minLatency = args.length > 1 ? Long.parseLong(args[1]) : 0;
+        long maxLatency = args.length > 2 ? Long.parseLong(args[2]) : minLatency;
+        double errorRate = args.length > 3 ? Double.parseDouble(args[3]) : 0;
+        long chunkInterval = args.length > 4 ? Long.parseLong(args[4]) : 0;
+        ChatCompletionsStandIn standIn = new ChatCompletionsStandIn(port, 42L)
+                .withLatency(minLatency, maxLatency)
+                .withChunkInterval(chunkInterval)
+                .withErrors(errorRate, 429, 500, 503)
+                .start();
+        Runtime.getRuntime().addShutdownHook(new Thread(standIn::close));
+    }
+}
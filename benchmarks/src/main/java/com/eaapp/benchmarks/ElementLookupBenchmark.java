@@ -0,0 +1,136 @@
+package com.eaapp.benchmarks;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.WebElement;
+
+import com.eaapp.core.DescriptionIndexHealer;
+import com.eaapp.core.EAAppElementFinder;
+import com.eaapp.core.FingerprintHealer;
+import com.eaapp.core.PageElements;
+import com.eaapp.utils.ConfigReader;
+
+/**
+ * Cost of each lookup tier of {@link EAAppElementFinder} against the stub driver: primary
+ * hit, healed hit for a known-broken key, the offline fingerprint and description tiers, and the healed path
+ * with every benchmark thread sharing one finder, as parallel test methods do. The login form
+ * is also resolved key by key and as one page, as {@code login()} does, and a key that is
+ * legitimately absent (its anchor resolves) is looked up repeatedly on an unchanged page.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ElementLookupBenchmark {
+
+    // 0 isolates the finder's own overhead; 50000 approximates a local chromedriver hop
+    @Param({ "0", "50000" })
+    public long roundTripNanos;
+
+    // Unrelated anchors the fingerprint tier has to score
+    @Param({ "50" })
+    public int extraLinks;
+
+    private Path directory;
+    private EAAppElementFinder finder;
+    private FingerprintHealer fingerprintHealer;
+    private DescriptionIndexHealer descriptionHealer;
+    private StubWebDriver driver;
+    private StubWebDriver listDriver;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        ConfigReader.setProperty("ai.cache.enabled", "false");
+        directory = Files.createTempDirectory("eaapp-lookup-bench");
+        Path healedLocators = directory.resolve("healed_locators.json");
+        Files.write(healedLocators, ("{\"UserName\": \"//input[contains(@id,'UserName') and @name='UserName']\"}")
+                .getBytes(StandardCharsets.UTF_8));
+
+        driver = new StubWebDriver(StubPage.loginPage(extraLinks), roundTripNanos);
+        finder = new EAAppElementFinder("stub-key");
+        finder.loadHealedLocatorsFromFile(healedLocators.toString());
+        fingerprintHealer = new FingerprintHealer();
+        descriptionHealer = new DescriptionIndexHealer();
+        // The first miss marks UserName as broken, so later lookups go straight to the healed locator
+        finder.findElement(driver, "UserName");
+        listDriver = new StubWebDriver(StubPage.employeeListPage(), roundTripNanos);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        finder.close();
+        BenchmarkFiles.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public WebElement primaryHit() {
+        return finder.findElement(driver, "Password");
+    }
+
+    @Benchmark
+    public List<WebElement> primaryHitMultiple() {
+        return finder.findElements(driver, "EmployeeListLink");
+    }
+
+    @Benchmark
+    public WebElement healedHit() {
+        return finder.findElement(driver, "UserName");
+    }
+
+    @Benchmark
+    @Threads(8)
+    public WebElement healedHitContended() {
+        return finder.findElement(driver, "UserName");
+    }
+
+    @Benchmark
+    public WebElement loginFormByKey() {
+        finder.findElement(driver, "UserName");
+        finder.findElement(driver, "Password");
+        return finder.findElement(driver, "LoginButton");
+    }
+
+    @Benchmark
+    public WebElement loginFormByPage() {
+        PageElements page = finder.resolvePage(driver, "Login");
+        page.get("UserName");
+        page.get("Password");
+        return page.get("LoginButton");
+    }
+
+    @Benchmark
+    public List<WebElement> absentKey() {
+        return finder.findElements(listDriver, "NoResultMessage");
+    }
+
+    @Benchmark
+    public FingerprintHealer.Match offlineHeal() {
+        return fingerprintHealer.heal(driver, "LoginLink", "//a[@id='loginLinkr']");
+    }
+
+    @Benchmark
+    public FingerprintHealer.Match descriptionHeal() {
+        return descriptionHealer.heal(driver, "LoginLink", "Login navigation link in header");
+    }
+}
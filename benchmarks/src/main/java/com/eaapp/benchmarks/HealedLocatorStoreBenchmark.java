@@ -0,0 +1,120 @@
+package com.eaapp.benchmarks;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.eaapp.core.HealedLocatorStore;
+import com.google.gson.GsonBuilder;
+
+/**
+ * Loading and saving {@code healed_locators.json}, journaled heals, and in-memory access to
+ * the healed map with seven readers racing one writer.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HealedLocatorStoreBenchmark {
+
+    // Today's file holds a handful of entries; 500 is a long-lived suite that never cleans up
+    @Param({ "6", "500" })
+    public int entries;
+
+    private Path directory;
+    private Path loadSnapshot;
+    private Path journaledSnapshot;
+    private HealedLocatorStore journaled;
+    private HealedLocatorStore inMemory;
+    private String[] keys;
+    private final AtomicLong writes = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("eaapp-store-bench");
+        keys = new String[entries];
+        Map<String, String> locators = new LinkedHashMap<>();
+        for (int i = 0; i < entries; i++) {
+            keys[i] = "Element" + i;
+            locators.put(keys[i], "//input[contains(@id,'Element" + i + "') and @name='Element" + i + "']");
+        }
+
+        loadSnapshot = directory.resolve("load.json");
+        try (Writer writer = Files.newBufferedWriter(loadSnapshot, StandardCharsets.UTF_8)) {
+            new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create().toJson(locators, writer);
+        }
+        journaledSnapshot = directory.resolve("journaled.json");
+        Files.copy(loadSnapshot, journaledSnapshot);
+        journaled = new HealedLocatorStore();
+        journaled.open(journaledSnapshot.toString());
+
+        inMemory = new HealedLocatorStore();
+        for (Map.Entry<String, String> locator : locators.entrySet()) {
+            inMemory.put(locator.getKey(), locator.getValue());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        BenchmarkFiles.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public HealedLocatorStore load() {
+        HealedLocatorStore store = new HealedLocatorStore();
+        store.open(loadSnapshot.toString());
+        return store;
+    }
+
+    @Benchmark
+    public void save() {
+        journaled.compact(journaledSnapshot.toString());
+    }
+
+    // Append + fsync per heal, with a compaction every heal.journal.compact.every appends
+    @Benchmark
+    public void journaledPut() {
+        long n = writes.incrementAndGet();
+        journaled.put(keys[(int) (n % entries)], "//input[@data-heal='" + n + "']");
+    }
+
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(7)
+    public String contendedRead() {
+        return inMemory.get(keys[ThreadLocalRandom.current().nextInt(entries)]);
+    }
+
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(1)
+    public void contendedWrite() {
+        long n = writes.incrementAndGet();
+        inMemory.put(keys[(int) (n % entries)], "//input[@data-heal='" + n + "']");
+    }
+}
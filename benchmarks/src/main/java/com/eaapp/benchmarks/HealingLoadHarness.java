@@ -0,0 +1,114 @@
+package com.eaapp.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.eaapp.core.EAAppElementFinder;
+import com.eaapp.core.HealingMetrics;
+import com.eaapp.locators.LocatorRegistry;
+import com.eaapp.utils.ConfigReader;
+
+/**
+ * Drives concurrent AI heals through one shared {@link EAAppElementFinder} against a local
+ * {@link ChatCompletionsStandIn} and reports throughput and end-to-end heal latency. By default
+ * every lookup misses its primary and healed locators, so each one is a full heal. With
+ * {@code distinctKeys}, lookups cycle over that many keys and healed locators keep resolving,
+ * so only the first concurrent misses of each key heal and the stand-in request count shows
+ * how well they were coalesced. With {@code chunkIntervalMs} the stand-in spends that long per
+ * content chunk, which is where streamed heals ({@code -Dai.stream.enabled}) gain.
+ *
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar com.eaapp.benchmarks.HealingLoadHarness \
+ *     [threads=8] [heals=400] [minLatencyMs=200] [maxLatencyMs=800] [errorRate=0.05] [distinctKeys=0] \
+ *     [chunkIntervalMs=0]
+ * </pre>
+ *
+ * {@code -Dai.*} and {@code -Dheal.*} system properties override config.properties, e.g.
+ * {@code -Dai.http.max.connections.per.route=4} to try a smaller connection pool.
+ */
+public final class HealingLoadHarness {
+
+    private HealingLoadHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        int heals = args.length > 1 ? Integer.parseInt(args[1]) : 400;
+        long minLatencyMs = args.length > 2 ? Long.parseLong(args[2]) : 200;
+        long maxLatencyMs = args.length > 3 ? Long.parseLong(args[3]) : 800;
+        double errorRate = args.length > 4 ? Double.parseDouble(args[4]) : 0.05;
+        int distinctKeys = args.length > 5 ? Integer.parseInt(args[5]) : 0;
+        long chunkIntervalMs = args.length > 6 ? Long.parseLong(args[6]) : 0;
+
+        try (ChatCompletionsStandIn standIn = new ChatCompletionsStandIn()
+                .withLatency(minLatencyMs, maxLatencyMs)
+                .withChunkInterval(chunkIntervalMs)
+                .withErrors(errorRate, 429, 500, 503)
+                .start()) {
+            ConfigReader.setProperty("uri", standIn.getEndpoint());
+            ConfigReader.setProperty("ai.cache.enabled", "false");
+            ConfigReader.setProperty("heal.batch.enabled", "false");
+            for (String name : System.getProperties().stringPropertyNames()) {
+                if (name.startsWith("ai.") || name.startsWith("heal.")) {
+                    ConfigReader.setProperty(name, System.getProperty(name));
+                }
+            }
+
+            EAAppElementFinder finder = new EAAppElementFinder("stand-in-key");
+            StubWebDriver driver = new StubWebDriver(StubPage.blank(), 0, true, distinctKeys > 0);
+            List<String> keys = new ArrayList<>();
+            for (LocatorRegistry.Entry entry : LocatorRegistry.get().entries()) {
+                if (entry.isValid() && (distinctKeys <= 0 || keys.size() < distinctKeys)) {
+                    keys.add(entry.getKey());
+                }
+            }
+
+            long[] latencies = new long[heals];
+            AtomicInteger failures = new AtomicInteger();
+            ExecutorService workers = Executors.newFixedThreadPool(threads);
+            long start = System.nanoTime();
+            for (int i = 0; i < heals; i++) {
+                int heal = i;
+                workers.execute(() -> {
+                    long healStart = System.nanoTime();
+                    try {
+                        finder.findElement(driver, keys.get(heal % keys.size()));
+                    } catch (RuntimeException e) {
+                        failures.incrementAndGet();
+                    }
+                    latencies[heal] = System.nanoTime() - healStart;
+                });
+            }
+            workers.shutdown();
+            workers.awaitTermination(1, TimeUnit.HOURS);
+            double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+            Arrays.sort(latencies);
+            System.out.printf("threads=%d heals=%d keys=%d stand-in latency=%d-%dms error rate=%.2f%n",
+                    threads, heals, keys.size(), minLatencyMs, maxLatencyMs, errorRate);
+            System.out.printf("throughput: %.1f heals/s over %.2fs (%d failed)%n",
+                    heals / elapsedSeconds, elapsedSeconds, failures.get());
+            System.out.printf("heal latency ms: p50=%.1f p95=%.1f p99=%.1f max=%.1f%n",
+                    percentileMs(latencies, 50), percentileMs(latencies, 95), percentileMs(latencies, 99),
+                    latencies[heals - 1] / 1e6);
+            System.out.printf("stand-in: %d requests, %d errors%n", standIn.getRequests(), standIn.getErrors());
+            System.out.println("connection pool: " + finder.getConnectionPoolStats());
+            for (String line : finder.getMetrics().toCsv().split("\n")) {
+                if (line.startsWith("key,") || line.startsWith(HealingMetrics.ALL_KEYS + ",")) {
+                    System.out.println(line);
+                }
+            }
+            finder.close();
+        }
+    }
+
+    private static double percentileMs(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+}
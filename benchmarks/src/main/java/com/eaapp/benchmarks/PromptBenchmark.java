@@ -0,0 +1,88 @@
+package com.eaapp.benchmarks;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.eaapp.core.DomReducer;
+import com.eaapp.core.HealingPrompts;
+import com.eaapp.core.LlmResponseCache;
+import com.eaapp.locators.EAAppLocators;
+
+/**
+ * Prompt construction from large page sources: DOM reduction, single and batch payloads,
+ * the cache key over the reduced DOM, and the unreduced payload as a baseline.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PromptBenchmark {
+    private static final String MODEL = "gpt-4o-mini";
+    private static final double TEMPERATURE = 0.7;
+    private static final int MAX_DOM_BYTES = 20000;
+    private static final String BROKEN_LOCATOR = "//input[@id='SearchString1']";
+
+    // Employee table rows; 2000 rows is roughly a 500 KB page source
+    @Param({ "20", "200", "2000" })
+    public int rows;
+
+    private String pageSource;
+    private String reducedHtml;
+    private Map<String, String> brokenLocators;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        pageSource = StubPage.employeeListSource(rows);
+        reducedHtml = DomReducer.reduce(pageSource, BROKEN_LOCATOR, MAX_DOM_BYTES).getHtml();
+        brokenLocators = new LinkedHashMap<>();
+        brokenLocators.put("SearchBox", BROKEN_LOCATOR);
+        brokenLocators.put("SearchButton", "//input[@value='Search1']");
+        brokenLocators.put("CreateNewLink", "//a[contains(text(),'Create New1')]");
+    }
+
+    @Benchmark
+    public String reduce() {
+        return DomReducer.reduce(pageSource, BROKEN_LOCATOR, MAX_DOM_BYTES).getHtml();
+    }
+
+    @Benchmark
+    public String singlePayload() {
+        String html = DomReducer.reduce(pageSource, BROKEN_LOCATOR, MAX_DOM_BYTES).getHtml();
+        return HealingPrompts.singleLocatorPayload(MODEL, TEMPERATURE, html, BROKEN_LOCATOR,
+                EAAppLocators.DESCRIPTIONS.get("SearchBox")).toString();
+    }
+
+    @Benchmark
+    public String batchPayload() {
+        String html = DomReducer.reduce(pageSource, brokenLocators.values(), MAX_DOM_BYTES).getHtml();
+        return HealingPrompts.batchLocatorPayload(MODEL, TEMPERATURE, html, brokenLocators,
+                EAAppLocators.DESCRIPTIONS).toString();
+    }
+
+    @Benchmark
+    public String unreducedPayload() {
+        return HealingPrompts.singleLocatorPayload(MODEL, TEMPERATURE, pageSource, BROKEN_LOCATOR,
+                EAAppLocators.DESCRIPTIONS.get("SearchBox")).toString();
+    }
+
+    @Benchmark
+    public String cacheKey() {
+        return LlmResponseCache.key(MODEL, reducedHtml, BROKEN_LOCATOR, EAAppLocators.DESCRIPTIONS.get("SearchBox"));
+    }
+}
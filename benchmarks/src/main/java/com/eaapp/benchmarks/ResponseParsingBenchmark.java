@@ -0,0 +1,81 @@
+package com.eaapp.benchmarks;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.eaapp.core.HealingPrompts;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+/** Parsing chat-completions responses into candidate locators, plain and code-fenced. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseParsingBenchmark {
+    static final String LOCATOR_ARRAY = "[\"//input[contains(@id,'SearchString')]\", "
+            + "\"//input[@type='text' and contains(@name,'Search')]\", "
+            + "\"//form[contains(@action,'Employee')]//input[@type='text']\"]";
+
+    private static final String LOCATOR_MAP = "{\"SearchBox\": " + LOCATOR_ARRAY + ", "
+            + "\"SearchButton\": [\"//input[@type='submit' and @value='Search']\", "
+            + "\"//input[contains(@class,'btn') and contains(@value,'Search')]\", \"//form//input[@type='submit']\"], "
+            + "\"CreateNewLink\": [\"//a[contains(@href,'Create')]\", \"//a[contains(text(),'Create')]\", "
+            + "\"//p/a[contains(@href,'/Employee/Create')]\"]}";
+
+    private final String arrayResponse = chatCompletion(LOCATOR_ARRAY);
+    private final String fencedArrayResponse = chatCompletion("```json\n" + LOCATOR_ARRAY + "\n```");
+    private final String mapResponse = chatCompletion(LOCATOR_MAP);
+
+    /** A chat-completions response body whose single choice carries {@code content}. */
+    private static String chatCompletion(String content) {
+        JsonObject message = new JsonObject();
+        message.addProperty("role", "assistant");
+        message.addProperty("content", content);
+        JsonObject choice = new JsonObject();
+        choice.addProperty("index", 0);
+        choice.add("message", message);
+        choice.addProperty("finish_reason", "stop");
+        JsonArray choices = new JsonArray();
+        choices.add(choice);
+        JsonObject usage = new JsonObject();
+        usage.addProperty("prompt_tokens", 1800);
+        usage.addProperty("completion_tokens", 60);
+        usage.addProperty("total_tokens", 1860);
+        JsonObject body = new JsonObject();
+        body.addProperty("id", "chatcmpl-bench");
+        body.addProperty("object", "chat.completion");
+        body.addProperty("model", "gpt-4o-mini");
+        body.add("choices", choices);
+        body.add("usage", usage);
+        return body.toString();
+    }
+
+    @Benchmark
+    public List<String> locatorArray() {
+        return HealingPrompts.parseLocatorArray(HealingPrompts.extractContent(arrayResponse));
+    }
+
+    @Benchmark
+    public List<String> fencedLocatorArray() {
+        return HealingPrompts.parseLocatorArray(HealingPrompts.extractContent(fencedArrayResponse));
+    }
+
+    @Benchmark
+    public Map<String, List<String>> batchLocatorMap() {
+        return HealingPrompts.parseLocatorMap(HealingPrompts.extractContent(mapResponse));
+    }
+}
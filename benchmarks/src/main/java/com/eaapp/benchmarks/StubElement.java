@@ -0,0 +1,130 @@
+package com.eaapp.benchmarks;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.WebElement;
+
+/**
+ * An element of a {@link StubPage}: the fingerprint values the healer's scripts would
+ * return for it, plus the XPath/CSS locators that resolve to it.
+ */
+final class StubElement implements WebElement {
+    private final Map<String, Object> fingerprint;
+    private final String xpath;
+    private final Set<String> locators;
+
+    StubElement(Map<String, Object> fingerprint, String xpath, Set<String> locators) {
+        this.fingerprint = fingerprint;
+        this.xpath = xpath;
+        this.locators = locators;
+    }
+
+    boolean matches(String locator) {
+        return locator != null && locators.contains(locator);
+    }
+
+    String xpath() {
+        return xpath;
+    }
+
+    /** Fresh copy of the fingerprint map, as a script call would return. */
+    Map<String, Object> fingerprint() {
+        return new LinkedHashMap<>(fingerprint);
+    }
+
+    @Override
+    public void click() {
+    }
+
+    @Override
+    public void submit() {
+    }
+
+    @Override
+    public void sendKeys(CharSequence... keysToSend) {
+    }
+
+    @Override
+    public void clear() {
+    }
+
+    @Override
+    public String getTagName() {
+        return (String) fingerprint.get("tag");
+    }
+
+    @Override
+    public String getAttribute(String name) {
+        Object value = fingerprint.get(name);
+        return value != null ? String.valueOf(value) : null;
+    }
+
+    @Override
+    public boolean isSelected() {
+        return false;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public String getText() {
+        return (String) fingerprint.get("text");
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        throw new org.openqa.selenium.NoSuchElementException("Stub elements have no children");
+    }
+
+    @Override
+    public boolean isDisplayed() {
+        return true;
+    }
+
+    @Override
+    public Point getLocation() {
+        return new Point(0, 0);
+    }
+
+    @Override
+    public Dimension getSize() {
+        return new Dimension(100, 20);
+    }
+
+    @Override
+    public Rectangle getRect() {
+        return new Rectangle(getLocation(), getSize());
+    }
+
+    @Override
+    public String getCssValue(String propertyName) {
+        return "";
+    }
+
+    @Override
+    public <X> X getScreenshotAs(OutputType<X> target) {
+        throw new UnsupportedOperationException("Stub elements cannot take screenshots");
+    }
+
+    @Override
+    public String toString() {
+        return "StubElement " + xpath;
+    }
+}
@@ -0,0 +1,148 @@
+package com.eaapp.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory model of an EAApp page: the markup returned by {@code getPageSource()} and the
+ * elements the locator, probe and fingerprint scripts can resolve.
+ */
+final class StubPage {
+    private final String source;
+    private final List<StubElement> elements;
+
+    private StubPage(String source, List<StubElement> elements) {
+        this.source = source;
+        this.elements = Collections.unmodifiableList(elements);
+    }
+
+    String source() {
+        return source;
+    }
+
+    List<StubElement> elements() {
+        return elements;
+    }
+
+    /** First element matched by the CSS form if there is one, otherwise by the XPath. */
+    StubElement find(String xpath, String css) {
+        for (StubElement element : elements) {
+            if (element.matches(css) || element.matches(xpath)) {
+                return element;
+            }
+        }
+        return null;
+    }
+
+    List<StubElement> findAll(String xpath, String css) {
+        List<StubElement> found = new ArrayList<>();
+        for (StubElement element : elements) {
+            if (element.matches(css) || element.matches(xpath)) {
+                found.add(element);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * The login page: header links, the login form and {@code extraLinks} unrelated anchors that
+     * the fingerprint healer has to score. The primary LoginLink and UserName locators miss here,
+     * as they do against the live site.
+     */
+    static StubPage loginPage(int extraLinks) {
+        List<StubElement> elements = new ArrayList<>();
+        elements.add(element("a", "loginLink", "", "", "Login", "", 0.82, 0.02,
+                "//a[@id='loginLink']", "a#loginLink", "//a[contains(@id,'loginLink')]"));
+        elements.add(element("a", "", "", "", "Employee List", "", 0.30, 0.02,
+                "//a[contains(text(),'Employee List')]"));
+        elements.add(element("input", "UserName", "UserName", "text", "", "UserName", 0.40, 0.30,
+                "//input[@id='UserName']", "input#UserName",
+                "//input[contains(@id,'UserName') and @name='UserName']"));
+        elements.add(element("input", "Password", "Password", "password", "", "Password", 0.40, 0.36,
+                "//input[@id='Password']", "input#Password"));
+        elements.add(element("input", "", "", "submit", "Log in", "", 0.40, 0.42,
+                "//input[@value='Log in']", "input[value='Log in']"));
+        for (int i = 0; i < extraLinks; i++) {
+            elements.add(element("a", "", "", "", "Footer link " + i, "", (i % 10) / 10.0, 0.9,
+                    "//a[normalize-space()='Footer link " + i + "']"));
+        }
+        return new StubPage(employeeListSource(extraLinks), elements);
+    }
+
+    /** The employee list after a search with results: the search box is there, no "No match" message. */
+    static StubPage employeeListPage() {
+        List<StubElement> elements = new ArrayList<>();
+        elements.add(element("input", "SearchString", "SearchString", "text", "", "", 0.20, 0.15,
+                "//input[@id='SearchString']", "input#SearchString"));
+        elements.add(element("input", "", "", "submit", "Search", "", 0.40, 0.15,
+                "//input[@value='Search']", "input[value='Search']"));
+        return new StubPage(employeeListSource(20), elements);
+    }
+
+    /** A page where no registered locator resolves and the fingerprint tier finds no candidates. */
+    static StubPage blank() {
+        return new StubPage(employeeListSource(0), new ArrayList<>());
+    }
+
+    /** An element outside any page, resolved only by {@code xpath}. */
+    static StubElement detached(String xpath) {
+        return element("div", "", "", "", "", "", 0, 0, xpath);
+    }
+
+    /** EAApp-like markup: layout chrome, scripts and styles, and an employee table of {@code rows} rows. */
+    static String employeeListSource(int rows) {
+        StringBuilder html = new StringBuilder(256 * rows + 4096);
+        html.append("<!DOCTYPE html><html><head><meta charset=\"utf-8\"/><title>Employee List - EA App</title>")
+                .append("<link href=\"/Content/bootstrap.css\" rel=\"stylesheet\"/>")
+                .append("<style>.navbar{margin-bottom:0}.body-content{padding:0 15px}</style>")
+                .append("<script src=\"/Scripts/modernizr-2.6.2.js\"></script>")
+                .append("<script>window.dataLayer=window.dataLayer||[];function gtag(){dataLayer.push(arguments);}</script>")
+                .append("</head><body>")
+                .append("<div class=\"navbar navbar-inverse navbar-fixed-top\"><div class=\"container\">")
+                .append("<ul class=\"nav navbar-nav\"><li><a href=\"/\">Home</a></li>")
+                .append("<li><a href=\"/Home/About\">About</a></li>")
+                .append("<li><a href=\"/Employee\">Employee List</a></li></ul>")
+                .append("<form action=\"/Account/LogOff\" class=\"navbar-right\" id=\"logoutForm\" method=\"post\">")
+                .append("<input name=\"__RequestVerificationToken\" type=\"hidden\" value=\"")
+                .append("CfDJ8Kx0aB1cD2eF3gH4iJ5kL6mN7oP8qR9sT0uV1wX2yZ3\"/>")
+                .append("<a href=\"javascript:document.getElementById('logoutForm').submit()\">Log off</a></form>")
+                .append("</div></div><div class=\"container body-content\"><h2>Employee List</h2>")
+                .append("<p><a href=\"/Employee/Create\">Create New</a></p>")
+                .append("<form action=\"/Employee\" method=\"get\"><p>Find by name: ")
+                .append("<input id=\"SearchString\" name=\"SearchString\" type=\"text\" value=\"\"/> ")
+                .append("<input type=\"submit\" value=\"Search\" class=\"btn btn-default\"/></p></form>")
+                .append("<table class=\"table\"><tbody><tr><th>Name</th><th>Salary</th><th>Duration Worked</th>")
+                .append("<th>Grade</th><th>Email</th><th></th></tr>");
+        for (int i = 0; i < rows; i++) {
+            html.append("<tr><td>Employee ").append(i).append("</td><td>").append(1000 + i).append("</td><td>")
+                    .append(i % 40).append("</td><td>").append(i % 5).append("</td><td>employee").append(i)
+                    .append("@example.com</td><td><a href=\"/Employee/Edit/").append(i).append("\">Edit</a> | ")
+                    .append("<a href=\"/Employee/Benefits/").append(i).append("\">Benefits</a> | ")
+                    .append("<a href=\"/Employee/Delete/").append(i).append("\">Delete</a></td></tr>");
+        }
+        html.append("</tbody></table><hr/><footer><p>&copy; EA App</p></footer></div>")
+                .append("<script src=\"/Scripts/jquery-1.10.2.js\"></script>")
+                .append("<script src=\"/Scripts/bootstrap.js\"></script></body></html>");
+        return html.toString();
+    }
+
+    private static StubElement element(String tag, String id, String name, String type, String text, String label,
+            double x, double y, String... locators) {
+        Map<String, Object> fingerprint = new LinkedHashMap<>();
+        fingerprint.put("tag", tag);
+        fingerprint.put("id", id);
+        fingerprint.put("name", name);
+        fingerprint.put("type", type);
+        fingerprint.put("classes", Collections.emptyList());
+        fingerprint.put("text", text);
+        fingerprint.put("label", label);
+        fingerprint.put("x", x);
+        fingerprint.put("y", y);
+        return new StubElement(fingerprint, locators[0], new HashSet<>(Arrays.asList(locators)));
+    }
+}
@@ -0,0 +1,256 @@
+package com.eaapp.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Browser-free {@link WebDriver} that answers the element finder's scripts from a
+ * {@link StubPage}. Scripts are recognised by their arguments and tail, so the finder's own
+ * script constants are exercised unchanged. An optional per-call delay stands in for the
+ * WebDriver wire round trip.
+ */
+final class StubWebDriver implements WebDriver, JavascriptExecutor {
+    private final StubPage page;
+    private final long roundTripNanos;
+    private final boolean acceptAnyCandidate;
+    private final Set<String> verified;
+    private final AtomicLong scriptCalls = new AtomicLong();
+
+    StubWebDriver(StubPage page, long roundTripNanos) {
+        this(page, roundTripNanos, false, false);
+    }
+
+    /**
+     * With {@code acceptAnyCandidate}, every candidate passed to the verification script
+     * matches. Unless {@code keepVerified} is set, probes still only see the page, so each
+     * lookup of a missing key goes all the way to the AI tier again; with it, verified
+     * candidates resolve from then on, as a healed locator would.
+     */
+    StubWebDriver(StubPage page, long roundTripNanos, boolean acceptAnyCandidate, boolean keepVerified) {
+        this.page = page;
+        this.roundTripNanos = roundTripNanos;
+        this.acceptAnyCandidate = acceptAnyCandidate;
+        this.verified = keepVerified ? ConcurrentHashMap.newKeySet() : null;
+    }
+
+    long getScriptCalls() {
+        return scriptCalls.get();
+    }
+
+    @Override
+    public Object executeScript(String script, Object... args) {
+        roundTrip();
+        if (script.contains("__eaappDom")) {
+            // The stub page never changes, so its DOM version never does either
+            return getCurrentUrl() + "#stub:0";
+        }
+        if (script.endsWith("return fp(arguments[0]);")) {
+            return ((StubElement) args[0]).fingerprint();
+        }
+        if (script.endsWith("return xp(arguments[0]);") || script.contains("found.snapshotItem(0) === el")) {
+            return ((StubElement) args[0]).xpath();
+        }
+        if (script.contains("querySelectorAll(selector)")) {
+            return candidates(((Number) args[1]).intValue());
+        }
+        if (script.contains("resolved[key]")) {
+            return resolvePage((Map<?, ?>) args[0]);
+        }
+        if (args.length > 0 && args[0] instanceof Map) {
+            return countMatches((Map<?, ?>) args[0]);
+        }
+        if (script.contains("MutationObserver(function () { var result")) {
+            // Element waits see the static page, so they resolve at once or time out at once
+            return firstElement((List<?>) args[0]);
+        }
+        if (script.contains("alternates[i]")) {
+            return firstAlternate((List<?>) args[0], Boolean.TRUE.equals(args[1]));
+        }
+        if (args.length > 0 && args[0] instanceof List) {
+            return verify((List<?>) args[0]);
+        }
+        if (args.length == 2 && args[0] instanceof String) {
+            String xpath = (String) args[0];
+            String css = (String) args[1];
+            if (verified != null && verified.contains(xpath)) {
+                StubElement element = StubPage.detached(xpath);
+                return script.contains("querySelectorAll") ? Collections.singletonList(element) : element;
+            }
+            return script.contains("querySelectorAll") ? new ArrayList<WebElement>(page.findAll(xpath, css))
+                    : page.find(xpath, css);
+        }
+        throw new UnsupportedOperationException("Script not modelled by the stub driver: " + script);
+    }
+
+    @Override
+    public Object executeAsyncScript(String script, Object... args) {
+        return executeScript(script, args);
+    }
+
+    private List<Map<String, Object>> candidates(int limit) {
+        List<Map<String, Object>> candidates = new ArrayList<>();
+        for (StubElement element : page.elements()) {
+            if (candidates.size() >= limit) {
+                break;
+            }
+            Map<String, Object> candidate = element.fingerprint();
+            candidate.put("element", element);
+            candidates.add(candidate);
+        }
+        return candidates;
+    }
+
+    private Map<String, Object> countMatches(Map<?, ?> locators) {
+        Map<String, Object> counts = new HashMap<>();
+        for (Map.Entry<?, ?> locator : locators.entrySet()) {
+            counts.put(String.valueOf(locator.getKey()), (long) page.findAll((String) locator.getValue(), null).size());
+        }
+        return counts;
+    }
+
+    private Map<String, Object> firstAlternate(List<?> alternates, boolean all) {
+        Map<String, Object> result = new HashMap<>();
+        List<Double> evalMs = new ArrayList<>();
+        result.put("index", -1L);
+        result.put("elements", Collections.emptyList());
+        result.put("evalMs", evalMs);
+        for (int i = 0; i < alternates.size(); i++) {
+            List<?> locator = (List<?>) alternates.get(i);
+            String xpath = (String) locator.get(0);
+            List<StubElement> found = verified != null && verified.contains(xpath)
+                    ? Collections.singletonList(StubPage.detached(xpath))
+                    : page.findAll(xpath, (String) locator.get(1));
+            evalMs.add(0.05);
+            if (!found.isEmpty()) {
+                result.put("index", (long) i);
+                result.put("elements", new ArrayList<WebElement>(all ? found : found.subList(0, 1)));
+                break;
+            }
+        }
+        return result;
+    }
+
+    private Map<String, Object> resolvePage(Map<?, ?> locators) {
+        Map<String, Object> resolved = new HashMap<>();
+        for (Map.Entry<?, ?> locator : locators.entrySet()) {
+            resolved.put(String.valueOf(locator.getKey()), firstElement((List<?>) locator.getValue()));
+        }
+        return resolved;
+    }
+
+    private Map<String, Object> firstElement(List<?> alternates) {
+        Map<String, Object> first = firstAlternate(alternates, false);
+        List<?> elements = (List<?>) first.remove("elements");
+        first.put("element", elements.isEmpty() ? null : elements.get(0));
+        first.put("visible", !elements.isEmpty());
+        return first;
+    }
+
+    private List<Map<String, Object>> verify(List<?> candidates) {
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (Object candidate : candidates) {
+            List<StubElement> matches = acceptAnyCandidate
+                    ? Collections.singletonList(StubPage.detached((String) candidate))
+                    : page.findAll((String) candidate, null);
+            if (verified != null && !matches.isEmpty()) {
+                verified.add((String) candidate);
+            }
+            Map<String, Object> result = new HashMap<>();
+            result.put("xpath", candidate);
+            result.put("valid", true);
+            result.put("count", (long) matches.size());
+            result.put("visible", !matches.isEmpty());
+            result.put("evalMs", 0.05);
+            if (!matches.isEmpty()) {
+                result.put("element", matches.get(0));
+            }
+            results.add(result);
+        }
+        return results;
+    }
+
+    private void roundTrip() {
+        scriptCalls.incrementAndGet();
+        if (roundTripNanos > 0) {
+            LockSupport.parkNanos(roundTripNanos);
+        }
+    }
+
+    @Override
+    public String getPageSource() {
+        roundTrip();
+        return page.source();
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        roundTrip();
+        return Collections.emptyList();
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        roundTrip();
+        throw new NoSuchElementException("Stub driver only resolves elements through scripts: " + by);
+    }
+
+    @Override
+    public void get(String url) {
+    }
+
+    @Override
+    public String getCurrentUrl() {
+        return "http://eaapp.somee.com/";
+    }
+
+    @Override
+    public String getTitle() {
+        return "EA App";
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public void quit() {
+    }
+
+    @Override
+    public Set<String> getWindowHandles() {
+        return Collections.singleton(getWindowHandle());
+    }
+
+    @Override
+    public String getWindowHandle() {
+        return "stub";
+    }
+
+    @Override
+    public TargetLocator switchTo() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Navigation navigate() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Options manage() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,62 @@
+package com.eaapp.core;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openqa.selenium.WebDriver;
+
+import com.eaapp.utils.ConfigReader;
+
+/**
+ * Keys confirmed absent from the current page: their locator matched nothing while their
+ * anchor still resolved. Entries are tied to the {@link DomSnapshotCache} version signal, so
+ * while the page is unchanged a repeated lookup of such a key costs one version check, and any
+ * navigation or mutation voids them. Drivers are held weakly.
+ */
+public class AbsentKeyCache {
+    private final boolean enabled = Boolean.parseBoolean(ConfigReader.getProperty("heal.absent.cache.enabled", "true"));
+    // driver -> key -> DOM version it was absent in
+    private final Map<WebDriver, Map<String, String>> absent = Collections.synchronizedMap(new WeakHashMap<>());
+    private final AtomicLong hits = new AtomicLong();
+
+    /** Whether the key was found absent in the page state the driver is still showing. */
+    public boolean isAbsent(WebDriver driver, String elementKey) {
+        Map<String, String> keys = enabled ? absent.get(driver) : null;
+        String version = keys != null ? keys.get(elementKey) : null;
+        if (version == null) {
+            return false;
+        }
+        if (version.equals(DomSnapshotCache.version(driver))) {
+            hits.incrementAndGet();
+            return true;
+        }
+        keys.remove(elementKey);
+        return false;
+    }
+
+    public void markAbsent(WebDriver driver, Collection<String> elementKeys) {
+        if (!enabled || elementKeys.isEmpty()) {
+            return;
+        }
+        String version = DomSnapshotCache.version(driver);
+        if (version != null) {
+            Map<String, String> keys = absent.computeIfAbsent(driver, ignored -> new ConcurrentHashMap<>());
+            for (String elementKey : elementKeys) {
+                keys.put(elementKey, version);
+            }
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("hits=%d, drivers=%d", hits.get(), absent.size());
+    }
+}
@@ -0,0 +1,239 @@
+package com.eaapp.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.eaapp.locators.CompiledLocator;
+
+/**
+ * Verifies a list of candidate XPaths in one browser round trip. Each candidate is
+ * evaluated with {@code document.evaluate}, so misses cost no exception and no implicit wait.
+ * Matches are timed (as XPath and, where one exists, as the equivalent CSS) so that the
+ * cheapest of several candidates resolving to the same element can be kept.
+ */
+public final class CandidateVerifier {
+    private static final Logger logger = LoggerFactory.getLogger(CandidateVerifier.class);
+
+    // Best of a few runs, since a single evaluation is close to the timer's resolution
+    private static final int TIMING_RUNS = 3;
+
+    // arguments: xpaths, css equivalents (null where none), timing runs
+    private static final String VERIFY_SCRIPT =
+            "var candidates = arguments[0], css = arguments[1], runs = arguments[2], results = [];" +
+            "function time(query) { var best = Infinity;" +
+            "  for (var n = 0; n < runs; n++) { var s = performance.now(); query(); best = Math.min(best, performance.now() - s); }" +
+            "  return best; }" +
+            "for (var i = 0; i < candidates.length; i++) {" +
+            "  var start = performance.now(), r = { xpath: candidates[i], valid: true, count: 0, visible: false };" +
+            "  try {" +
+            "    var snapshot = document.evaluate(candidates[i], document, null," +
+            "      XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);" +
+            "    r.count = snapshot.snapshotLength;" +
+            "    var first = r.count > 0 ? snapshot.snapshotItem(0) : null;" +
+            "    if (first && first.nodeType === 1) {" +
+            "      r.element = first;" +
+            "      r.visible = !!(first.offsetWidth || first.offsetHeight || first.getClientRects().length)" +
+            "        && getComputedStyle(first).visibility !== 'hidden';" +
+            "    }" +
+            "    r.evalMs = Math.min(performance.now() - start, time(function () {" +
+            "      document.evaluate(candidates[i], document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null); }));" +
+            "    if (r.element && css[i]) { r.cssMs = time(function () { document.querySelectorAll(css[i]); }); }" +
+            "    var id = r.element ? r.element.id : '';" +
+            "    if (id && /^[A-Za-z_][\\w-]*$/.test(id) && document.querySelectorAll('#' + id).length === 1) {" +
+            "      r.anchor = '//' + r.element.tagName.toLowerCase() + \"[@id='\" + id + \"']\";" +
+            "      r.anchorMs = time(function () { document.querySelectorAll('#' + id); });" +
+            "    }" +
+            "  } catch (e) { r.valid = false; r.error = String(e.message || e); r.evalMs = performance.now() - start; }" +
+            "  results.push(r);" +
+            "}" +
+            "return results;";
+
+    private CandidateVerifier() {
+    }
+
+    @SuppressWarnings("unchecked")
+    public static List<Result> verify(WebDriver driver, List<String> candidates) {
+        List<Result> results = new ArrayList<>();
+        if (candidates.isEmpty()) {
+            return results;
+        }
+        if (!(driver instanceof JavascriptExecutor)) {
+            return verifyWithFindElements(driver, candidates);
+        }
+        List<String> css = new ArrayList<>();
+        for (String candidate : candidates) {
+            css.add(CompiledLocator.cssEquivalent(candidate));
+        }
+        List<Map<String, Object>> raw = (List<Map<String, Object>>) ((JavascriptExecutor) driver)
+                .executeScript(VERIFY_SCRIPT, candidates, css, TIMING_RUNS);
+        for (int i = 0; i < raw.size(); i++) {
+            Map<String, Object> values = raw.get(i);
+            Result result = new Result(i, (String) values.get("xpath"),
+                    Boolean.TRUE.equals(values.get("valid")),
+                    ((Number) values.get("count")).intValue(),
+                    Boolean.TRUE.equals(values.get("visible")),
+                    millis(values.get("evalMs")),
+                    values.get("element") instanceof WebElement ? (WebElement) values.get("element") : null,
+                    (String) values.get("error"));
+            result.cssMs = css.get(i) != null ? millis(values.get("cssMs")) : -1;
+            result.anchor = (String) values.get("anchor");
+            result.anchorMs = millis(values.get("anchorMs"));
+            logger.debug("Candidate #{} {}", i + 1, result);
+            results.add(result);
+        }
+        return results;
+    }
+
+    /**
+     * Best matching candidate: must be valid and match at least one element; visible matches
+     * beat hidden ones, otherwise the suggested order is kept. Returns null if none match.
+     */
+    public static Result best(List<Result> results) {
+        Result best = null;
+        for (Result result : results) {
+            if (!result.isMatch()) {
+                continue;
+            }
+            if (best == null || (result.isVisible() && !best.isVisible())) {
+                best = result;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * The cheapest locator for {@code best}'s match among {@code results}: candidates that
+     * resolve to the same first element with the same count, plus the element's own unique id
+     * when it matched alone. Ties go to a locator with a CSS form, since probes use that.
+     */
+    public static String cheapestEquivalent(Result best, List<Result> results) {
+        String cheapest = best.getXpath();
+        double cost = best.cost();
+        for (Result result : results) {
+            if (result == best || !result.isMatch() || result.count != best.count || result.element == null
+                    || !result.element.equals(best.element)) {
+                continue;
+            }
+            if (result.cost() < cost || (result.cost() == cost && CompiledLocator.cssEquivalent(result.xpath) != null
+                    && CompiledLocator.cssEquivalent(cheapest) == null)) {
+                cheapest = result.xpath;
+                cost = result.cost();
+            }
+        }
+        if (best.anchor != null && best.count == 1 && best.anchorMs >= 0 && best.anchorMs <= cost) {
+            cheapest = best.anchor;
+        }
+        return cheapest;
+    }
+
+    private static double millis(Object value) {
+        return value instanceof Number ? ((Number) value).doubleValue() : -1;
+    }
+
+    private static List<Result> verifyWithFindElements(WebDriver driver, List<String> candidates) {
+        List<Result> results = new ArrayList<>();
+        for (int i = 0; i < candidates.size(); i++) {
+            long start = System.nanoTime();
+            try {
+                List<WebElement> elements = driver.findElements(By.xpath(candidates.get(i)));
+                WebElement first = elements.isEmpty() ? null : elements.get(0);
+                results.add(new Result(i, candidates.get(i), true, elements.size(),
+                        first != null && first.isDisplayed(), (System.nanoTime() - start) / 1e6, first, null));
+            } catch (Exception e) {
+                results.add(new Result(i, candidates.get(i), false, 0, false, (System.nanoTime() - start) / 1e6,
+                        null, e.getMessage()));
+            }
+        }
+        return results;
+    }
+
+    /** Outcome of evaluating one candidate XPath in the page. */
+    public static class Result {
+        private final int index;
+        private final String xpath;
+        private final boolean valid;
+        private final int count;
+        private final boolean visible;
+        private final double evalMs;
+        private final WebElement element;
+        private final String error;
+        private double cssMs = -1;
+        private String anchor;
+        private double anchorMs = -1;
+
+        Result(int index, String xpath, boolean valid, int count, boolean visible, double evalMs,
+                WebElement element, String error) {
+            this.index = index;
+            this.xpath = xpath;
+            this.valid = valid;
+            this.count = count;
+            this.visible = visible;
+            this.evalMs = evalMs;
+            this.element = element;
+            this.error = error;
+        }
+
+        public boolean isMatch() {
+            return valid && count > 0;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public String getXpath() {
+            return xpath;
+        }
+
+        public boolean isValid() {
+            return valid;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public boolean isVisible() {
+            return visible;
+        }
+
+        public double getEvalMs() {
+            return evalMs;
+        }
+
+        public WebElement getElement() {
+            return element;
+        }
+
+        /** Time to evaluate the equivalent CSS selector, or -1 if there is none. */
+        public double getCssMs() {
+            return cssMs;
+        }
+
+        /** Id-anchored XPath of the matched element when its id is unique in the page, or null. */
+        public String getAnchor() {
+            return anchor;
+        }
+
+        /** What a lookup with this locator costs: the faster of its XPath and CSS forms. */
+        public double cost() {
+            return cssMs >= 0 ? Math.min(evalMs, cssMs) : evalMs;
+        }
+
+        @Override
+        public String toString() {
+            if (!valid) {
+                return String.format("%s invalid (%s)", xpath, error);
+            }
+            return String.format("%s count=%d visible=%s eval=%.3fms", xpath, count, visible, evalMs);
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package com.eaapp.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.eaapp.utils.ConfigReader;
+
+/**
+ * Local, network-free healing tier for keys that have no fingerprint to match: the visible
+ * interactive elements of the page are tokenized (ids, names, labels, placeholders, roles,
+ * text, and words for their tag and type) into a BM25 index built once per DOM version, and
+ * ranked against the key's name and its {@code EAAppLocators.DESCRIPTIONS} entry. A stable
+ * XPath is generated for the top hit and checked to resolve back to it.
+ */
+public class DescriptionIndexHealer {
+    private static final Logger logger = LoggerFactory.getLogger(DescriptionIndexHealer.class);
+
+    private static final String CANDIDATES_SCRIPT = FingerprintHealer.FINGERPRINT_FUNCTIONS +
+            "var selector = arguments[0], limit = arguments[1], result = [];" +
+            "var nodes = document.querySelectorAll(selector);" +
+            "for (var i = 0; i < nodes.length && result.length < limit; i++) {" +
+            "  var el = nodes[i];" +
+            "  if (el.type === 'hidden' || !(el.offsetWidth || el.offsetHeight || el.getClientRects().length)) continue;" +
+            "  var f = fp(el);" +
+            "  f.placeholder = el.getAttribute('placeholder') || ''; f.aria = el.getAttribute('aria-label') || '';" +
+            "  f.role = el.getAttribute('role') || ''; f.title = el.getAttribute('title') || '';" +
+            "  f.element = el; result.push(f);" +
+            "}" +
+            "return result;";
+
+    // The XPath of the element, or null unless it resolves to exactly that element
+    private static final String VERIFIED_XPATH_SCRIPT = FingerprintHealer.FINGERPRINT_FUNCTIONS +
+            "var el = arguments[0], x = xp(el);" +
+            "try { var found = document.evaluate(x, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);" +
+            "  return found.snapshotLength === 1 && found.snapshotItem(0) === el ? x : null; } catch (e) { return null; }";
+
+    private static final String SELECTOR =
+            "a, button, input, select, textarea, h1, h2, h3, h4, h5, h6, td, dl, [role]";
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    // Context words of descriptions ("... on login page") that never describe the element itself
+    private static final Set<String> STOP_WORDS = new HashSet<>(Arrays.asList(
+            "a", "an", "the", "on", "in", "of", "for", "to", "and", "or", "with", "page"));
+
+    private static final Map<String, String> TAG_WORDS = new HashMap<>();
+    private static final Map<String, String> TYPE_WORDS = new HashMap<>();
+
+    static {
+        TAG_WORDS.put("a", "link navigation");
+        TAG_WORDS.put("button", "button");
+        TAG_WORDS.put("input", "input field");
+        TAG_WORDS.put("select", "select dropdown field");
+        TAG_WORDS.put("textarea", "input field text");
+        for (int level = 1; level <= 6; level++) {
+            TAG_WORDS.put("h" + level, "header heading title");
+        }
+        TAG_WORDS.put("td", "cell table");
+        TAG_WORDS.put("dl", "details");
+        TYPE_WORDS.put("submit", "button submit");
+        TYPE_WORDS.put("button", "button");
+        TYPE_WORDS.put("reset", "button reset");
+        TYPE_WORDS.put("password", "password");
+        TYPE_WORDS.put("email", "email");
+        TYPE_WORDS.put("checkbox", "checkbox");
+        TYPE_WORDS.put("number", "number");
+    }
+
+    private final boolean enabled = Boolean.parseBoolean(ConfigReader.getProperty("heal.description.enabled", "true"));
+    private final double minCoverage = Double.parseDouble(
+            ConfigReader.getProperty("heal.description.min.coverage", "0.6"));
+    private final double minMargin = Double.parseDouble(
+            ConfigReader.getProperty("heal.description.min.margin", "1.1"));
+    private final int candidateLimit = ConfigReader.getIntProperty("heal.fingerprint.max.candidates", 500);
+    private final Map<WebDriver, Index> indexes = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * Ranks the page's candidates against the key's name and description and returns the top
+     * hit with a verified XPath, or null when it covers too little of the description or is
+     * not clearly ahead of the runner-up.
+     */
+    public FingerprintHealer.Match heal(WebDriver driver, String elementKey, String description) {
+        if (!enabled || !(driver instanceof JavascriptExecutor)) {
+            return null;
+        }
+        List<String> query = new ArrayList<>(new LinkedHashSet<>(tokenize(elementKey + " " + description, false)));
+        if (query.isEmpty()) {
+            return null;
+        }
+        long start = System.nanoTime();
+        try {
+            Index index = index(driver);
+            double best = 0;
+            double runnerUp = 0;
+            Document bestDocument = null;
+            for (Document document : index.documents) {
+                double score = index.score(document, query);
+                if (score > best) {
+                    runnerUp = best;
+                    best = score;
+                    bestDocument = document;
+                } else if (score > runnerUp) {
+                    runnerUp = score;
+                }
+            }
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+            double coverage = bestDocument != null ? bestDocument.coverage(query) : 0;
+            if (bestDocument == null || coverage < minCoverage || (runnerUp > 0 && best / runnerUp < minMargin)) {
+                logger.info("Description heal found no clear match for {} (coverage {}, score {} vs {}, {} candidates, {}ms)",
+                        elementKey, String.format("%.2f", coverage), String.format("%.2f", best),
+                        String.format("%.2f", runnerUp), index.documents.size(), elapsedMs);
+                return null;
+            }
+            String xpath = (String) ((JavascriptExecutor) driver).executeScript(VERIFIED_XPATH_SCRIPT,
+                    bestDocument.element);
+            if (xpath == null) {
+                logger.info("Description heal for {} found no stable XPath for its top hit", elementKey);
+                return null;
+            }
+            logger.info("Description heal matched {} with score {} (coverage {}) in {}ms: {}", elementKey,
+                    String.format("%.2f", best), String.format("%.2f", coverage),
+                    (System.nanoTime() - start) / 1_000_000, xpath);
+            return new FingerprintHealer.Match(bestDocument.element, xpath, best);
+        } catch (Exception e) {
+            logger.warn("Description heal failed for {}: {}", elementKey, e.getMessage());
+            logger.debug("Description heal failure details", e);
+            return null;
+        }
+    }
+
+    // One index per driver, rebuilt when the DOM version signal changes (every time without one)
+    @SuppressWarnings("unchecked")
+    private Index index(WebDriver driver) {
+        String version = DomSnapshotCache.version(driver);
+        Index index = indexes.get(driver);
+        if (version != null && index != null && version.equals(index.version)) {
+            return index;
+        }
+        List<Map<String, Object>> candidates = (List<Map<String, Object>>) ((JavascriptExecutor) driver)
+                .executeScript(CANDIDATES_SCRIPT, SELECTOR, candidateLimit);
+        index = new Index(version, candidates);
+        if (version != null) {
+            indexes.put(driver, index);
+        } else {
+            indexes.remove(driver);
+        }
+        return index;
+    }
+
+    /**
+     * Lower-cased words with camelCase split, light plural stemming and stop words dropped.
+     * With {@code joinPairs} (element side only) each adjacent pair is also joined, so
+     * "UserName" and "Log in" match the query words "username" and "login".
+     */
+    static List<String> tokenize(String text, boolean joinPairs) {
+        String[] words = text.replaceAll("([a-z0-9])([A-Z])", "$1 $2").toLowerCase(Locale.ROOT).split("[^a-z0-9]+");
+        List<String> tokens = new ArrayList<>();
+        String previous = null;
+        for (String word : words) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            if (!STOP_WORDS.contains(word)) {
+                tokens.add(stem(word));
+            }
+            if (joinPairs && previous != null) {
+                tokens.add(stem(previous + word));
+            }
+            previous = word;
+        }
+        return tokens;
+    }
+
+    private static String stem(String word) {
+        return word.length() > 3 && word.endsWith("s") && !word.endsWith("ss")
+                ? word.substring(0, word.length() - 1) : word;
+    }
+
+    /** One candidate element and its weighted term frequencies. */
+    private static final class Document {
+        private final WebElement element;
+        private final Map<String, Integer> termFrequencies = new HashMap<>();
+        private int length;
+
+        Document(Map<String, Object> candidate) {
+            this.element = (WebElement) candidate.get("element");
+            String tag = string(candidate.get("tag"));
+            // Identifying fields count double
+            add(string(candidate.get("id")), 2);
+            add(string(candidate.get("name")), 2);
+            add(string(candidate.get("label")), 2);
+            add(string(candidate.get("placeholder")), 2);
+            add(string(candidate.get("aria")), 2);
+            add(string(candidate.get("text")), 1);
+            add(string(candidate.get("title")), 1);
+            add(string(candidate.get("role")), 1);
+            add(TAG_WORDS.getOrDefault(tag, tag), 1);
+            add(TYPE_WORDS.getOrDefault(string(candidate.get("type")).toLowerCase(Locale.ROOT), ""), 1);
+        }
+
+        private void add(String field, int weight) {
+            for (String token : tokenize(field, true)) {
+                termFrequencies.merge(token, weight, Integer::sum);
+                length += weight;
+            }
+        }
+
+        // Share of the query's terms this document contains
+        double coverage(List<String> query) {
+            int matched = 0;
+            for (String term : query) {
+                if (termFrequencies.containsKey(term)) {
+                    matched++;
+                }
+            }
+            return (double) matched / query.size();
+        }
+
+        private static String string(Object value) {
+            return value != null ? value.toString() : "";
+        }
+    }
+
+    /** BM25 over the candidates of one DOM version. */
+    private static final class Index {
+        private final String version;
+        private final List<Document> documents = new ArrayList<>();
+        private final Map<String, Integer> documentFrequencies = new HashMap<>();
+        private final double averageLength;
+
+        Index(String version, List<Map<String, Object>> candidates) {
+            this.version = version;
+            long totalLength = 0;
+            for (Map<String, Object> candidate : candidates) {
+                Document document = new Document(candidate);
+                documents.add(document);
+                totalLength += document.length;
+                for (String term : document.termFrequencies.keySet()) {
+                    documentFrequencies.merge(term, 1, Integer::sum);
+                }
+            }
+            this.averageLength = documents.isEmpty() ? 1 : Math.max(1, (double) totalLength / documents.size());
+        }
+
+        double score(Document document, List<String> query) {
+            double score = 0;
+            for (String term : query) {
+                Integer frequency = document.termFrequencies.get(term);
+                if (frequency == null) {
+                    continue;
+                }
+                int df = documentFrequencies.get(term);
+                double idf = Math.log(1 + (documents.size() - df + 0.5) / (df + 0.5));
+                score += idf * frequency * (K1 + 1)
+                        / (frequency + K1 * (1 - B + B * document.length / averageLength));
+            }
+            return score;
+        }
+    }
+}
@@ -0,0 +1,302 @@
+package com.eaapp.core;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Attribute;
+import org.jsoup.nodes.Comment;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.nodes.Node;
+import org.jsoup.nodes.TextNode;
+import org.jsoup.select.Elements;
+
+/**
+ * Shrinks a page source before it is sent to the LLM: strips scripts, styles,
+ * svg and comments, drops hidden markup, unwraps anonymous layout containers
+ * and keeps the region around where the original XPath was pointing, within a byte budget.
+ * Containers with an id, name, role or class are kept, so structural XPaths written against
+ * the reduced DOM still hold on the live page; the prompts ask the model not to rely on the
+ * anonymous wrappers that were unwrapped.
+ */
+public final class DomReducer {
+
+    private static final String REMOVED_TAGS = "script, style, svg, noscript, template, link, meta, iframe, canvas";
+
+    private static final Set<String> KEPT_TAGS = new HashSet<>(Arrays.asList(
+            "a", "button", "input", "select", "option", "textarea", "label", "form", "img",
+            "h1", "h2", "h3", "h4", "h5", "h6", "table", "thead", "tbody", "tr", "th", "td",
+            "ul", "ol", "li", "dl", "dt", "dd", "nav", "header", "main", "footer", "fieldset", "legend"));
+
+    private static final Set<String> IDENTIFYING_ATTRIBUTES = new HashSet<>(Arrays.asList(
+            "id", "name", "class", "type", "value", "placeholder", "href", "title", "role", "for", "alt", "action"));
+
+    private static final int MAX_ATTRIBUTE_LENGTH = 80;
+
+    private static final Pattern XPATH_TAG = Pattern.compile("(?:^|/)([a-zA-Z][\\w-]*)(?=\\[|/|$)");
+    private static final Pattern XPATH_LITERAL = Pattern.compile("'([^']*)'|\"([^\"]*)\"");
+
+    private DomReducer() {
+    }
+
+    public static Result reduce(String html, String originalXPath, int maxBytes) {
+        return reduce(html, Collections.singletonList(originalXPath), maxBytes);
+    }
+
+    /** Reduces around the common region of several locators, e.g. for a batch heal of one page. */
+    public static Result reduce(String html, Collection<String> originalXPaths, int maxBytes) {
+        int originalBytes = byteLength(html);
+        Document document = Jsoup.parse(html);
+        document.outputSettings().prettyPrint(false);
+        Element body = document.body();
+
+        Set<String> hintTags = new HashSet<>();
+        for (String xpath : originalXPaths) {
+            hintTags.addAll(tagHints(xpath));
+        }
+        body.select(REMOVED_TAGS).remove();
+        body.select("[hidden], [aria-hidden=true], input[type=hidden], [style~=display:\\s*none]").remove();
+        compact(body, hintTags);
+
+        Element region = null;
+        for (String xpath : originalXPaths) {
+            Element target = findRegion(body, xpath);
+            if (target != null) {
+                region = region == null ? target : commonAncestor(region, target);
+            }
+        }
+        String reduced = region != null ? growRegion(region, body, maxBytes) : truncate(body, maxBytes);
+        return new Result(reduced, originalBytes, byteLength(reduced));
+    }
+
+    // Removes comments, unwraps anonymous elements and collapses whitespace, bottom-up
+    private static void compact(Element element, Set<String> hintTags) {
+        for (Node child : new ArrayList<>(element.childNodes())) {
+            if (child instanceof Comment) {
+                child.remove();
+            } else if (child instanceof TextNode) {
+                TextNode text = (TextNode) child;
+                String collapsed = text.getWholeText().replaceAll("\\s+", " ");
+                if (collapsed.trim().isEmpty()) {
+                    text.remove();
+                } else {
+                    text.text(collapsed);
+                }
+            } else if (child instanceof Element) {
+                Element childElement = (Element) child;
+                compact(childElement, hintTags);
+                pruneAttributes(childElement);
+                if (!isKept(childElement, hintTags)) {
+                    childElement.unwrap();
+                }
+            }
+        }
+    }
+
+    private static boolean isKept(Element element, Set<String> hintTags) {
+        String tag = element.normalName();
+        return KEPT_TAGS.contains(tag) || hintTags.contains(tag)
+                || element.hasAttr("id") || element.hasAttr("name") || element.hasAttr("role")
+                || element.hasAttr("class");
+    }
+
+    private static void pruneAttributes(Element element) {
+        for (Attribute attribute : new ArrayList<>(element.attributes().asList())) {
+            String key = attribute.getKey().toLowerCase(Locale.ROOT);
+            boolean keep = IDENTIFYING_ATTRIBUTES.contains(key) || key.startsWith("aria-") || key.startsWith("data-test");
+            if (!keep || attribute.getValue().length() > MAX_ATTRIBUTE_LENGTH) {
+                element.removeAttr(attribute.getKey());
+            }
+        }
+    }
+
+    // Finds the element the original XPath most likely meant, tolerating renamed attribute values
+    private static Element findRegion(Element body, String originalXPath) {
+        if (originalXPath == null) {
+            return null;
+        }
+        try {
+            Elements exact = body.selectXpath(originalXPath);
+            if (!exact.isEmpty()) {
+                return exact.first();
+            }
+        } catch (Exception e) {
+            // Malformed or unsupported XPath - fall back to fuzzy matching below
+        }
+
+        Set<String> tags = tagHints(originalXPath);
+        List<String> literals = literalHints(originalXPath);
+        if (literals.isEmpty()) {
+            return tags.isEmpty() ? null : body.selectFirst(String.join(", ", tags));
+        }
+
+        Element anyTagMatch = null;
+        for (Element candidate : body.getAllElements()) {
+            if (!matchesLiteral(candidate, literals)) {
+                continue;
+            }
+            if (tags.contains(candidate.normalName())) {
+                return candidate;
+            }
+            if (anyTagMatch == null) {
+                anyTagMatch = candidate;
+            }
+        }
+        return anyTagMatch;
+    }
+
+    private static boolean matchesLiteral(Element element, List<String> literals) {
+        List<String> values = new ArrayList<>();
+        for (Attribute attribute : element.attributes()) {
+            values.add(attribute.getValue().toLowerCase(Locale.ROOT));
+        }
+        values.add(element.ownText().trim().toLowerCase(Locale.ROOT));
+        for (String literal : literals) {
+            for (String value : values) {
+                if (value.length() >= 3 && (value.contains(literal) || literal.contains(value))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static Element commonAncestor(Element first, Element second) {
+        Set<Element> firstLineage = new HashSet<>(first.parents());
+        firstLineage.add(first);
+        if (firstLineage.contains(second)) {
+            return second;
+        }
+        for (Element ancestor : second.parents()) {
+            if (firstLineage.contains(ancestor)) {
+                return ancestor;
+            }
+        }
+        return first.ownerDocument() != null ? first.ownerDocument().body() : first;
+    }
+
+    // Widens the region around the target until the next ancestor would exceed the budget
+    private static String growRegion(Element region, Element body, int maxBytes) {
+        Element current = region;
+        String html = current.outerHtml();
+        if (byteLength(html) > maxBytes) {
+            return truncate(current, maxBytes);
+        }
+        while (current != body && current.parent() != null) {
+            String parentHtml = current.parent().outerHtml();
+            if (byteLength(parentHtml) > maxBytes) {
+                break;
+            }
+            current = current.parent();
+            html = parentHtml;
+        }
+        return html;
+    }
+
+    private static String truncate(Element element, int maxBytes) {
+        StringBuilder builder = new StringBuilder();
+        int bytes = 0;
+        for (Element child : element.children()) {
+            String childHtml = child.outerHtml();
+            int childBytes = byteLength(childHtml);
+            if (bytes + childBytes > maxBytes) {
+                break;
+            }
+            builder.append(childHtml).append('\n');
+            bytes += childBytes + 1;
+        }
+        if (builder.length() == 0) {
+            return truncateBytes(element.outerHtml(), maxBytes);
+        }
+        return builder.toString();
+    }
+
+    // Longest prefix that fits in maxBytes of UTF-8, never splitting a surrogate pair
+    private static String truncateBytes(String html, int maxBytes) {
+        int bytes = 0;
+        int end = 0;
+        while (end < html.length()) {
+            int codePoint = html.codePointAt(end);
+            int size = codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+            if (bytes + size > maxBytes) {
+                break;
+            }
+            bytes += size;
+            end += Character.charCount(codePoint);
+        }
+        return html.substring(0, end);
+    }
+
+    private static Set<String> tagHints(String xpath) {
+        Set<String> tags = new LinkedHashSet<>();
+        if (xpath == null) {
+            return tags;
+        }
+        Matcher matcher = XPATH_TAG.matcher(xpath);
+        while (matcher.find()) {
+            String tag = matcher.group(1).toLowerCase(Locale.ROOT);
+            if (!"text".equals(tag) && !"node".equals(tag)) {
+                tags.add(tag);
+            }
+        }
+        return tags;
+    }
+
+    private static List<String> literalHints(String xpath) {
+        List<String> literals = new ArrayList<>();
+        Matcher matcher = XPATH_LITERAL.matcher(xpath);
+        while (matcher.find()) {
+            String literal = matcher.group(1) != null ? matcher.group(1) : matcher.group(2);
+            if (literal.trim().length() >= 3) {
+                literals.add(literal.trim().toLowerCase(Locale.ROOT));
+            }
+        }
+        return literals;
+    }
+
+    private static int byteLength(String value) {
+        return value.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    /** Reduced HTML plus the before/after sizes for reporting. */
+    public static class Result {
+        private final String html;
+        private final int originalBytes;
+        private final int reducedBytes;
+
+        Result(String html, int originalBytes, int reducedBytes) {
+            this.html = html;
+            this.originalBytes = originalBytes;
+            this.reducedBytes = reducedBytes;
+        }
+
+        public String getHtml() {
+            return html;
+        }
+
+        public int getOriginalBytes() {
+            return originalBytes;
+        }
+
+        public int getReducedBytes() {
+            return reducedBytes;
+        }
+
+        @Override
+        public String toString() {
+            double ratio = originalBytes == 0 ? 0 : 100.0 * reducedBytes / originalBytes;
+            return String.format("%d -> %d bytes (%.1f%%)", originalBytes, reducedBytes, ratio);
+        }
+    }
+}
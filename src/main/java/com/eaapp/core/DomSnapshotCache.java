@@ -0,0 +1,115 @@
+package com.eaapp.core;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.eaapp.utils.ConfigReader;
+
+/**
+ * Latest page source per driver, reused until the page changes. A script installs a
+ * MutationObserver counter and a random token in each new document; URL, token and counter
+ * form a cheap version signal, so navigation, reloads and DOM mutations all invalidate the
+ * snapshot without transferring the source. Only one snapshot is kept per driver, and drivers
+ * are held weakly.
+ */
+public class DomSnapshotCache {
+    private static final Logger logger = LoggerFactory.getLogger(DomSnapshotCache.class);
+
+    private static final String VERSION_SCRIPT =
+            "var w = window;" +
+            "if (!w.__eaappDom) {" +
+            "  w.__eaappDom = { token: Math.random().toString(36).slice(2), version: 0 };" +
+            "  try { new MutationObserver(function () { w.__eaappDom.version++; }).observe(document," +
+            "    { subtree: true, childList: true, attributes: true, characterData: true }); }" +
+            "  catch (e) { w.__eaappDom.token = null; }" +
+            "}" +
+            "return w.__eaappDom.token ? location.href + '#' + w.__eaappDom.token + ':' + w.__eaappDom.version : null;";
+
+    private final boolean enabled = Boolean.parseBoolean(ConfigReader.getProperty("heal.snapshot.enabled", "true"));
+    private final Map<WebDriver, Snapshot> snapshots = Collections.synchronizedMap(new WeakHashMap<>());
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /** The driver's current page source, from the snapshot if the page has not changed since. */
+    public Snapshot get(WebDriver driver) {
+        String version = enabled ? version(driver) : null;
+        if (version != null) {
+            Snapshot snapshot = snapshots.get(driver);
+            if (snapshot != null && version.equals(snapshot.version)) {
+                hits.incrementAndGet();
+                return snapshot;
+            }
+        }
+        misses.incrementAndGet();
+        Snapshot snapshot = new Snapshot(version, driver.getPageSource());
+        if (version != null) {
+            snapshots.put(driver, snapshot);
+        } else {
+            snapshots.remove(driver);
+        }
+        return snapshot;
+    }
+
+    /** Drops the driver's snapshot, e.g. before the driver goes back to a pool. */
+    public void invalidate(WebDriver driver) {
+        snapshots.remove(driver);
+    }
+
+    // Cheap page-state signal shared with AbsentKeyCache; null when the page offers none
+    static String version(WebDriver driver) {
+        if (!(driver instanceof JavascriptExecutor)) {
+            return null;
+        }
+        try {
+            Object version = ((JavascriptExecutor) driver).executeScript(VERSION_SCRIPT);
+            return version instanceof String ? (String) version : null;
+        } catch (Exception e) {
+            logger.debug("No DOM version signal, not caching the page source: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("hits=%d, misses=%d, drivers=%d", hits.get(), misses.get(), snapshots.size());
+    }
+
+    /** One page source plus whatever has been derived from it, such as reduced prompt DOMs. */
+    public static final class Snapshot {
+        private final String version;
+        private final String source;
+        private final Map<String, Object> derived = new ConcurrentHashMap<>();
+
+        Snapshot(String version, String source) {
+            this.version = version;
+            this.source = source;
+        }
+
+        public String getSource() {
+            return source;
+        }
+
+        /** Computes a value from the source once per snapshot, e.g. a DomReducer result per locator. */
+        @SuppressWarnings("unchecked")
+        public <T> T derive(String key, Supplier<T> compute) {
+            return (T) derived.computeIfAbsent(key, ignored -> compute.get());
+        }
+    }
+}
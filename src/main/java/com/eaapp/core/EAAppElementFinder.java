@@ -1,81 +1,295 @@
 package com.eaapp.core;
 
-import java.io.FileReader;
-import java.io.FileWriter;
-import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
-import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.entity.StringEntity;
-import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClients;
-import org.apache.http.util.EntityUtils;
 import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.json.TypeToken;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.eaapp.locators.CompiledLocator;
 import com.eaapp.locators.EAAppLocators;
+import com.eaapp.locators.LocatorRegistry;
 import com.eaapp.utils.ConfigReader;
 import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
 
 public class EAAppElementFinder {
     private static final Logger logger = LoggerFactory.getLogger(EAAppElementFinder.class);
+    private static final String DEFAULT_ENDPOINT = "https://api.openai.com/v1/chat/completions";
+    private static final long STREAM_POLL_MILLIS = 25;
+    // Suffix of anchor probes in COUNT_MATCHES_SCRIPT arguments, next to the keys' own probes
+    private static final String ANCHOR_SUFFIX = "#anchor";
+    // Pause before re-arming a wait whose script failed, e.g. while a new document loads
+    private static final long WAIT_RETRY_MILLIS = 25;
+
+    // arguments: xpath, css (null when the locator has no CSS form)
+    private static final String PROBE_SCRIPT =
+            "if (arguments[1]) { return document.querySelector(arguments[1]); }" +
+            "try { var node = document.evaluate(arguments[0], document, null," +
+            "  XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;" +
+            "  return node && node.nodeType === 1 ? node : null; } catch (e) { return null; }";
+
+    private static final String PROBE_ALL_SCRIPT =
+            "if (arguments[1]) { return Array.prototype.slice.call(document.querySelectorAll(arguments[1])); }" +
+            "var found = [];" +
+            "try { var snapshot = document.evaluate(arguments[0], document, null," +
+            "  XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);" +
+            "  for (var i = 0; i < snapshot.snapshotLength; i++) {" +
+            "    if (snapshot.snapshotItem(i).nodeType === 1) found.push(snapshot.snapshotItem(i)); } }" +
+            "catch (e) { }" +
+            "return found;";
+
+    // arguments: [[xpath, css], ...] in ranked order, all; stops at the first alternate that matches
+    private static final String ALTERNATES_SCRIPT =
+            "var alternates = arguments[0], all = arguments[1], evalMs = [];" +
+            "for (var i = 0; i < alternates.length; i++) {" +
+            "  var start = performance.now(), found = [], xpath = alternates[i][0], css = alternates[i][1];" +
+            "  try {" +
+            "    if (css) { found = all ? Array.prototype.slice.call(document.querySelectorAll(css))" +
+            "      : [document.querySelector(css)]; }" +
+            "    else if (all) { var snapshot = document.evaluate(xpath, document, null," +
+            "      XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);" +
+            "      for (var j = 0; j < snapshot.snapshotLength; j++) found.push(snapshot.snapshotItem(j)); }" +
+            "    else { found = [document.evaluate(xpath, document, null," +
+            "      XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue]; }" +
+            "  } catch (e) { found = []; }" +
+            "  found = found.filter(function (node) { return node && node.nodeType === 1; });" +
+            "  evalMs.push(performance.now() - start);" +
+            "  if (found.length) { return { index: i, elements: found, evalMs: evalMs }; }" +
+            "}" +
+            "return { index: -1, elements: [], evalMs: evalMs };";
+
+    // arguments: {key: [[xpath, css], ...]} in the order to try; returns key -> first match and its visibility
+    private static final String RESOLVE_PAGE_SCRIPT =
+            "var locators = arguments[0], resolved = {};" +
+            "function first(xpath, css) {" +
+            "  try { if (css) { return document.querySelector(css); }" +
+            "    var node = document.evaluate(xpath, document, null," +
+            "      XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;" +
+            "    return node && node.nodeType === 1 ? node : null; } catch (e) { return null; }" +
+            "}" +
+            "for (var key in locators) {" +
+            "  var candidates = locators[key], evalMs = [], element = null, i;" +
+            "  for (i = 0; i < candidates.length && !element; i++) {" +
+            "    var start = performance.now();" +
+            "    element = first(candidates[i][0], candidates[i][1]);" +
+            "    evalMs.push(performance.now() - start);" +
+            "  }" +
+            "  var style = element && window.getComputedStyle(element);" +
+            "  resolved[key] = { index: element ? i - 1 : -1, element: element, evalMs: evalMs," +
+            "    visible: !!element && style.display !== 'none' && style.visibility !== 'hidden'" +
+            "      && element.getClientRects().length > 0 };" +
+            "}" +
+            "return resolved;";
+
+    // arguments: [[xpath, css], ...] in the order to try, timeout in ms, callback. Reports the first
+    // visible match as soon as a DOM mutation produces one, or index -1 once the timeout passes
+    private static final String WAIT_SCRIPT =
+            "var candidates = arguments[0], timeoutMs = arguments[1], done = arguments[arguments.length - 1];" +
+            "var start = performance.now(), finished = false, observer, timer;" +
+            "function first(xpath, css) {" +
+            "  try { if (css) { return document.querySelector(css); }" +
+            "    var node = document.evaluate(xpath, document, null," +
+            "      XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;" +
+            "    return node && node.nodeType === 1 ? node : null; } catch (e) { return null; }" +
+            "}" +
+            "function match() {" +
+            "  for (var i = 0; i < candidates.length; i++) {" +
+            "    var element = first(candidates[i][0], candidates[i][1]);" +
+            "    if (!element) { continue; }" +
+            "    var style = window.getComputedStyle(element);" +
+            "    if (style.display !== 'none' && style.visibility !== 'hidden' && element.getClientRects().length > 0) {" +
+            "      return { index: i, element: element };" +
+            "    }" +
+            "  }" +
+            "  return null;" +
+            "}" +
+            "function finish(result) {" +
+            "  if (finished) { return; }" +
+            "  finished = true;" +
+            "  if (observer) { observer.disconnect(); }" +
+            "  clearTimeout(timer);" +
+            "  result.waitedMs = performance.now() - start;" +
+            "  done(result);" +
+            "}" +
+            "var found = match();" +
+            "if (found) { finish(found); return; }" +
+            "observer = new MutationObserver(function () { var result = match(); if (result) { finish(result); } });" +
+            "observer.observe(document, { subtree: true, childList: true, attributes: true, characterData: true });" +
+            "timer = setTimeout(function () { finish({ index: -1, element: null }); }, timeoutMs);";
+
+    // arguments: [[xpath, css], ...] tried in order until one matches (or the elements to read instead),
+    // filter {mode, value}, attribute names. Returns the matching candidate's index and match count,
+    // plus the text and attributes of the matches that pass the filter
+    private static final String TEXTS_SCRIPT =
+            "var candidates = arguments[0], elements = arguments[1], filter = arguments[2], names = arguments[3];" +
+            "var index = -1, evalMs = [], items = [];" +
+            "function all(xpath, css) {" +
+            "  try { if (css) { return Array.prototype.slice.call(document.querySelectorAll(css)); }" +
+            "    var snapshot = document.evaluate(xpath, document, null," +
+            "      XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null), found = [];" +
+            "    for (var j = 0; j < snapshot.snapshotLength; j++) found.push(snapshot.snapshotItem(j));" +
+            "    return found; } catch (e) { return []; }" +
+            "}" +
+            "if (!elements) {" +
+            "  elements = [];" +
+            "  for (var i = 0; i < candidates.length && !elements.length; i++) {" +
+            "    var start = performance.now();" +
+            "    elements = all(candidates[i][0], candidates[i][1])" +
+            "      .filter(function (node) { return node.nodeType === 1; });" +
+            "    evalMs.push(performance.now() - start);" +
+            "    if (elements.length) { index = i; }" +
+            "  }" +
+            "}" +
+            "for (var k = 0; k < elements.length; k++) {" +
+            "  var element = elements[k], text = element.innerText !== undefined ? element.innerText" +
+            "    : element.textContent || '';" +
+            "  text = text.replace(/[^\\S\\n]+/g, ' ').replace(/ *\\n */g, '\\n').trim();" +
+            "  if (filter.mode === 'equals' && text !== filter.value) { continue; }" +
+            "  if (filter.mode === 'contains' && text.indexOf(filter.value) < 0) { continue; }" +
+            "  var attributes = {};" +
+            "  for (var n = 0; n < names.length; n++) { attributes[names[n]] = element.getAttribute(names[n]); }" +
+            "  items.push({ position: k, element: element, text: text, attributes: attributes });" +
+            "}" +
+            "return { index: index, count: elements.length, evalMs: evalMs, items: items };";
+
+    // Returns key -> number of nodes matched by that key's XPath, or -1 if the XPath is invalid
+    private static final String COUNT_MATCHES_SCRIPT =
+            "var locators = arguments[0], counts = {};" +
+            "for (var key in locators) {" +
+            "  try { counts[key] = document.evaluate(locators[key], document, null," +
+            "    XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null).snapshotLength; }" +
+            "  catch (e) { counts[key] = -1; }" +
+            "}" +
+            "return counts;";
+
     // private final WebDriver driver;
     private final String openaiApiKey;
-    private Map<String, String> healedLocators = new ConcurrentHashMap<>();
+    private final LocatorRegistry locatorRegistry = LocatorRegistry.get();
+    private final HealingMetrics metrics = new HealingMetrics();
+    private final Map<String, CompiledLocator> compiledHealedLocators = new ConcurrentHashMap<>();
+    private final HealedLocatorStore healedLocators = new HealedLocatorStore();
+    // Keys whose primary locator missed on the last lookup
+    private final Set<String> brokenKeys = ConcurrentHashMap.newKeySet();
+    private final HealerHttpClient healerHttpClient = new HealerHttpClient();
+    private final SingleFlight<String, WebElement> healFlights = new SingleFlight<>();
+    private final SingleFlight<String, List<WebElement>> multipleHealFlights = new SingleFlight<>();
+    private final HealingCallExecutor healingCalls = new HealingCallExecutor(healerHttpClient, metrics);
+    private final FingerprintHealer fingerprintHealer = new FingerprintHealer();
+    private final DescriptionIndexHealer descriptionHealer = new DescriptionIndexHealer();
+    private final LlmResponseCache responseCache = new LlmResponseCache();
+    private final DomSnapshotCache domSnapshots = new DomSnapshotCache();
+    private final AbsentKeyCache absentKeys = new AbsentKeyCache();
+    private final int maxPromptDomBytes = ConfigReader.getIntProperty("ai.dom.max.bytes", 20000);
+    // Any OpenAI-compatible chat-completions endpoint, e.g. the benchmarks' ChatCompletionsStandIn for offline runs
+    private final String endpoint = ConfigReader.getProperty("uri", DEFAULT_ENDPOINT);
+    private final String model = ConfigReader.getProperty("openai.model", "gpt-4o-mini");
+    private final double temperature = Double.parseDouble(ConfigReader.getProperty("openai.temperature", "0.7"));
+    private final boolean batchHealingEnabled = Boolean.parseBoolean(
+            ConfigReader.getProperty("heal.batch.enabled", "true"));
+    private final boolean streamingEnabled = Boolean.parseBoolean(
+            ConfigReader.getProperty("ai.stream.enabled", "true"));
+    private final long waitTimeoutMillis = ConfigReader.getLongProperty("wait.timeout.ms", 10000);
+    private final long waitChunkMillis = ConfigReader.getLongProperty("wait.script.chunk.ms", 20000);
 
     public EAAppElementFinder(WebDriver driver, String openaiApiKey) {
         // this.driver = driver;
-        this.openaiApiKey = ConfigReader.getProperty("openai.api.key");
+        this(openaiApiKey);
+    }
+
+    // Drivers are passed per call, so one finder can be shared by every test thread
+    public EAAppElementFinder(String openaiApiKey) {
+        this.openaiApiKey = openaiApiKey != null ? openaiApiKey : ConfigReader.getProperty("openai.api.key");
     }
 
     // Method for finding single element
     public WebElement findElement(WebDriver driver,String elementKey) {
-        String originalLocator = EAAppLocators.LOCATORS.get(elementKey);
-        String elementDescription = EAAppLocators.DESCRIPTIONS.get(elementKey);
+        LocatorRegistry.Entry entry = requireValid(elementKey);
+        String originalLocator = entry.getXpath();
+        String elementDescription = entry.getDescription();
 
-        if (originalLocator == null) {
-            throw new IllegalArgumentException("No locator found for key: " + elementKey);
+        logger.info("Attempting to find element with key: {} using locator: {}", elementKey, originalLocator);
+        if (entry.isAnchorDeclared() && absentKeys.isAbsent(driver, elementKey)) {
+            throw absent(elementKey);
         }
 
-        logger.info("Attempting to find element with key: {} using locator: {}", elementKey, originalLocator);
+        // Once a key is known to be broken its healed locators are the likelier hit, so try them first
+        List<String> healed = healedLocators.alternates(elementKey);
+        boolean knownBroken = brokenKeys.contains(elementKey);
+        if (knownBroken && !healed.isEmpty()) {
+            WebElement element = first(probeAlternates(driver, elementKey, healed, false));
+            if (element != null) {
+                logger.info("Element found with healed locator: {}", elementKey);
+                metrics.increment(elementKey, HealingMetrics.Counter.HEALED_HIT);
+                fingerprintHealer.record(driver, elementKey, element);
+                return element;
+            }
+        }
 
-        try {
-            logger.info("Entering try block for element: {}", elementKey);
-            WebElement element = driver.findElement(By.xpath(originalLocator));
+        long start = System.nanoTime();
+        WebElement element = probe(driver, entry.getLocator());
+        metrics.record(elementKey, HealingMetrics.Timer.PRIMARY_LOOKUP, System.nanoTime() - start);
+        if (element != null) {
             logger.info("Element found successfully: {}", elementKey);
+            metrics.increment(elementKey, HealingMetrics.Counter.PRIMARY_HIT);
+            brokenKeys.remove(elementKey);
+            fingerprintHealer.record(driver, elementKey, element);
             return element;
-        } catch (Exception e) {
-            logger.warn("Caught NoSuchElementException for {}: {}", elementKey, originalLocator);
-            logger.warn("Exception details: ", e);
-            return tryHealedLocators(driver, elementKey, originalLocator, elementDescription);
+        }
+        logger.warn("Primary locator missed for {}: {}", elementKey, originalLocator);
+        brokenKeys.add(elementKey);
 
+        if (!knownBroken && !healed.isEmpty()) {
+            element = first(probeAlternates(driver, elementKey, healed, false));
+            if (element != null) {
+                logger.info("Element found with healed locator: {}", elementKey);
+                metrics.increment(elementKey, HealingMetrics.Counter.HEALED_HIT);
+                fingerprintHealer.record(driver, elementKey, element);
+                return element;
+            }
+        }
+        if (!healed.isEmpty()) {
+            logger.warn("Healed locators failed for {}: {}", elementKey, healed);
         }
+        if (!anchoredKeys(driver, Collections.singletonList(entry), true).isEmpty()) {
+            throw absent(elementKey);
+        }
+        return tryHealedLocators(driver, elementKey, originalLocator, elementDescription);
     }
 
     // Method for finding multiple elements
     public List<WebElement> findElements(WebDriver driver, String elementKey) {
-        String originalLocator = EAAppLocators.LOCATORS.get(elementKey);
-        String elementDescription = EAAppLocators.DESCRIPTIONS.get(elementKey);
-
-        if (originalLocator == null) {
-            throw new IllegalArgumentException("No locator found for key: " + elementKey);
+        LocatorRegistry.Entry entry = requireValid(elementKey);
+        String originalLocator = entry.getXpath();
+        String elementDescription = entry.getDescription();
+        if (absentKeys.isAbsent(driver, elementKey)) {
+            return Collections.emptyList();
         }
 
-        List<WebElement> elements = driver.findElements(By.xpath(originalLocator));
+        long start = System.nanoTime();
+        List<WebElement> elements = probeAll(driver, entry.getLocator());
+        metrics.record(elementKey, HealingMetrics.Timer.PRIMARY_LOOKUP, System.nanoTime() - start);
         if (!elements.isEmpty()) {
+            metrics.increment(elementKey, HealingMetrics.Counter.PRIMARY_HIT);
             return elements;
         }
 
@@ -83,40 +297,682 @@ public class EAAppElementFinder {
         return tryHealedLocatorsForMultiple(driver, elementKey, originalLocator, elementDescription);
     }
 
-    private WebElement tryHealedLocators(WebDriver driver,String elementKey, String originalLocator, String elementDescription) {
-        String healedLocator = healedLocators.get(elementKey);
-        if (healedLocator != null) {
+    /**
+     * Resolves every key of an {@link EAAppLocators#PAGES} group in one script call, trying
+     * each key's primary and healed locators in the same order as {@link #findElement}. Keys
+     * that do not resolve are healed as a group when one of them is first asked for.
+     */
+    public PageElements resolvePage(WebDriver driver, String pageName) {
+        List<LocatorRegistry.Entry> entries = locatorRegistry.page(pageName);
+        List<String> keys = new ArrayList<>();
+        for (LocatorRegistry.Entry entry : entries) {
+            keys.add(entry.getKey());
+        }
+        PageElements page = new PageElements(this, driver, pageName, keys);
+        resolveInto(driver, page, entries);
+        logger.info("Resolved page {}", page);
+        return page;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void resolveInto(WebDriver driver, PageElements page, List<LocatorRegistry.Entry> entries) {
+        // Malformed entries stay missing; asking for one fails in requireValid like findElement does
+        Map<String, List<String>> candidates = new LinkedHashMap<>();
+        Map<String, Integer> primaryIndexes = new HashMap<>();
+        for (LocatorRegistry.Entry entry : entries) {
+            if (!entry.isValid()) {
+                continue;
+            }
+            List<String> keyCandidates = new ArrayList<>();
+            primaryIndexes.put(entry.getKey(), lookupOrder(entry, keyCandidates));
+            candidates.put(entry.getKey(), keyCandidates);
+        }
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        Map<String, Object> resolved = new HashMap<>();
+        if (driver instanceof JavascriptExecutor) {
+            Map<String, List<List<String>>> locators = new LinkedHashMap<>();
+            for (Map.Entry<String, List<String>> keyCandidates : candidates.entrySet()) {
+                locators.put(keyCandidates.getKey(), scriptLocators(keyCandidates.getKey(), keyCandidates.getValue()));
+            }
+            long start = System.nanoTime();
             try {
-                return driver.findElement(By.xpath(healedLocator));
-            } catch (NoSuchElementException e) {
-                logger.warn("Healed locator failed for {}: {}", elementKey, healedLocator);
+                resolved = (Map<String, Object>) ((JavascriptExecutor) driver)
+                        .executeScript(RESOLVE_PAGE_SCRIPT, locators);
+            } catch (Exception e) {
+                logger.warn("Could not resolve page {}: {}", page.getPage(), e.getMessage());
+                return;
+            }
+            logger.debug("Resolved {} keys of page {} in {}ms", candidates.size(), page.getPage(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } else {
+            for (Map.Entry<String, List<String>> keyCandidates : candidates.entrySet()) {
+                resolved.put(keyCandidates.getKey(), resolveOneByOne(driver, keyCandidates.getKey(),
+                        keyCandidates.getValue()));
+            }
+        }
+
+        for (Map.Entry<String, List<String>> keyCandidates : candidates.entrySet()) {
+            String key = keyCandidates.getKey();
+            Map<String, Object> result = (Map<String, Object>) resolved.get(key);
+            if (result == null) {
+                continue;
+            }
+            int index = ((Number) result.get("index")).intValue();
+            List<Double> evalMs = new ArrayList<>();
+            for (Object millis : (List<Object>) result.get("evalMs")) {
+                evalMs.add(((Number) millis).doubleValue());
+            }
+            recordOrderedLookup(key, keyCandidates.getValue(), primaryIndexes.get(key), index, evalMs);
+            page.put(key, index >= 0 ? (WebElement) result.get("element") : null,
+                    Boolean.TRUE.equals(result.get("visible")));
+        }
+    }
+
+    // Same result shape as RESOLVE_PAGE_SCRIPT, for drivers that cannot run scripts
+    private Map<String, Object> resolveOneByOne(WebDriver driver, String elementKey, List<String> candidates) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("index", -1);
+        result.put("evalMs", Collections.emptyList());
+        for (int i = 0; i < candidates.size(); i++) {
+            WebElement element = probe(driver, locator(elementKey, candidates.get(i)));
+            if (element != null) {
+                result.put("index", i);
+                result.put("element", element);
+                try {
+                    result.put("visible", element.isDisplayed());
+                } catch (Exception e) {
+                    logger.debug("Could not check visibility of {}", elementKey, e);
+                }
+                break;
+            }
+        }
+        return result;
+    }
+
+    // The registry already holds the primary locator compiled; healed ones are compiled on first use
+    private CompiledLocator locator(String elementKey, String xpath) {
+        LocatorRegistry.Entry entry = locatorRegistry.entry(elementKey);
+        return xpath.equals(entry.getXpath()) ? entry.getLocator() : compiled(xpath);
+    }
+
+    /**
+     * Fills {@code candidates} with the key's locators in findElement's order, healed ones first
+     * once the key is known to be broken, and returns the index of the primary locator.
+     */
+    private int lookupOrder(LocatorRegistry.Entry entry, List<String> candidates) {
+        candidates.addAll(healedLocators.alternates(entry.getKey()));
+        int primaryIndex = brokenKeys.contains(entry.getKey()) ? candidates.size() : 0;
+        candidates.add(primaryIndex, entry.getXpath());
+        return primaryIndex;
+    }
+
+    private List<List<String>> scriptLocators(String elementKey, List<String> candidates) {
+        List<List<String>> pairs = new ArrayList<>();
+        for (String xpath : candidates) {
+            CompiledLocator locator = locator(elementKey, xpath);
+            pairs.add(Arrays.asList(xpath, locator.isValid() ? locator.getCss() : null));
+        }
+        return pairs;
+    }
+
+    // Feeds an ordered lookup into the same counters, broken-key set and alternate ranking as findElement
+    private void recordOrderedLookup(String elementKey, List<String> candidates, int primaryIndex, int index,
+            List<Double> evalMs) {
+        if (index == primaryIndex) {
+            metrics.increment(elementKey, HealingMetrics.Counter.PRIMARY_HIT);
+            brokenKeys.remove(elementKey);
+        } else if (index < 0 || index > primaryIndex) {
+            brokenKeys.add(elementKey);
+        }
+        List<String> healed = new ArrayList<>(candidates);
+        healed.remove(primaryIndex);
+        // Alternates are tried after the primary or before it, never on both sides
+        int healedFrom = primaryIndex == 0 ? 1 : 0;
+        List<Double> healedEvalMs = evalMs.size() > healedFrom
+                ? evalMs.subList(healedFrom, Math.min(evalMs.size(), healedFrom + healed.size()))
+                : Collections.<Double>emptyList();
+        if (healed.isEmpty() || (healedEvalMs.isEmpty() && index == primaryIndex)) {
+            return;
+        }
+        int healedIndex = index < 0 || index == primaryIndex ? -1 : index - healedFrom;
+        healedLocators.recordLookup(elementKey, healed, healedIndex, healedEvalMs);
+        if (healedIndex >= 0) {
+            metrics.increment(elementKey, HealingMetrics.Counter.HEALED_HIT);
+        }
+    }
+
+    /**
+     * Heals a key that {@link #resolvePage} left missing. The first such heal on a page sends
+     * all of its missing keys in one batch request; later ones, or a page with a single
+     * missing key, go through the same tiers as {@link #findElement}.
+     */
+    WebElement healPageElement(WebDriver driver, PageElements page, String elementKey) {
+        LocatorRegistry.Entry entry = requireValid(elementKey);
+        logger.warn("Key {} did not resolve on page {}", elementKey, page.getPage());
+        if (entry.isAnchorDeclared() && absentKeys.isAbsent(driver, elementKey)) {
+            throw absent(elementKey);
+        }
+        // Before any tier, which could otherwise "heal" an absent key to some other element
+        if (!anchoredKeys(driver, Collections.singletonList(entry), true).isEmpty()) {
+            throw absent(elementKey);
+        }
+        WebElement element = healOffline(driver, elementKey, entry.getXpath());
+        if (element != null) {
+            page.put(elementKey, element, true);
+            return element;
+        }
+
+        Map<String, String> missing = new LinkedHashMap<>();
+        List<LocatorRegistry.Entry> missingEntries = new ArrayList<>();
+        if (batchHealingEnabled && page.beginGroupHeal()) {
+            for (String key : page.getMissingKeys()) {
+                if (locatorRegistry.entry(key).isValid()) {
+                    missingEntries.add(locatorRegistry.entry(key));
+                }
+            }
+        } else {
+            missingEntries.add(entry);
+        }
+        // Keys whose anchor resolves are absent, not broken, and stay out of the heal
+        Set<String> anchored = anchoredKeys(driver, missingEntries, true);
+        if (anchored.contains(elementKey)) {
+            throw absent(elementKey);
+        }
+        for (LocatorRegistry.Entry missingEntry : missingEntries) {
+            if (!anchored.contains(missingEntry.getKey())) {
+                missing.put(missingEntry.getKey(), missingEntry.getXpath());
+            }
+        }
+        Set<String> batchHealed = missing.size() >= 2 ? healInBatch(driver, elementKey, missing) : null;
+        if (batchHealed == null) {
+            element = healWithSharedAICall(driver, elementKey, entry.getXpath(), entry.getDescription());
+            page.put(elementKey, element, true);
+            return element;
+        }
+        List<LocatorRegistry.Entry> healedEntries = new ArrayList<>();
+        for (String key : batchHealed) {
+            healedEntries.add(locatorRegistry.entry(key));
+        }
+        resolveInto(driver, page, healedEntries);
+        element = page.element(elementKey);
+        if (element == null) {
+            metrics.increment(elementKey, HealingMetrics.Counter.HEAL_FAILURE);
+            throw new NoSuchElementException("All attempts to locate element '" + elementKey + "' failed");
+        }
+        fingerprintHealer.record(driver, elementKey, element);
+        return element;
+    }
+
+    /**
+     * Keys among {@code entries} whose anchor resolves although the key did not: the page they
+     * belong to is there and simply has nothing to match right now. Such keys are not healed
+     * and are remembered as absent until the page changes. One script call for all of them.
+     * Single-element lookups pass {@code declaredOnly}: a positional parent such as a table row
+     * still resolves when the locator of a cell inside it breaks, so only anchors declared in
+     * {@code EAAppLocators.ANCHORS} count there.
+     */
+    @SuppressWarnings("unchecked")
+    private Set<String> anchoredKeys(WebDriver driver, Collection<LocatorRegistry.Entry> entries,
+            boolean declaredOnly) {
+        Map<String, String> anchors = new HashMap<>();
+        for (LocatorRegistry.Entry entry : entries) {
+            if (entry.getAnchor() != null && (entry.isAnchorDeclared() || !declaredOnly)) {
+                anchors.put(entry.getKey(), entry.getAnchor().getXpath());
+            }
+        }
+        if (anchors.isEmpty()) {
+            return Collections.emptySet();
+        }
+        Set<String> anchored = new HashSet<>();
+        if (driver instanceof JavascriptExecutor) {
+            try {
+                Map<String, Object> counts = (Map<String, Object>) ((JavascriptExecutor) driver)
+                        .executeScript(COUNT_MATCHES_SCRIPT, anchors);
+                for (Map.Entry<String, Object> count : counts.entrySet()) {
+                    if (count.getValue() instanceof Number && ((Number) count.getValue()).intValue() > 0) {
+                        anchored.add(count.getKey());
+                    }
+                }
+            } catch (Exception e) {
+                logger.debug("Could not probe anchors of {}: {}", anchors.keySet(), e.getMessage());
+                return Collections.emptySet();
+            }
+        } else {
+            for (LocatorRegistry.Entry entry : entries) {
+                if (anchors.containsKey(entry.getKey()) && probe(driver, entry.getAnchor()) != null) {
+                    anchored.add(entry.getKey());
+                }
+            }
+        }
+        markAbsent(driver, anchored);
+        return anchored;
+    }
+
+    private void markAbsent(WebDriver driver, Set<String> elementKeys) {
+        for (String elementKey : elementKeys) {
+            metrics.increment(elementKey, HealingMetrics.Counter.VALID_EMPTY);
+            logger.info("Nothing matches {} but its anchor {} resolves; treating it as absent, not broken",
+                    elementKey, locatorRegistry.entry(elementKey).getAnchor().getXpath());
+        }
+        absentKeys.markAbsent(driver, elementKeys);
+    }
+
+    private static NoSuchElementException absent(String elementKey) {
+        return new NoSuchElementException("Element '" + elementKey + "' is not on the current page");
+    }
+
+    void recordFingerprint(WebDriver driver, String elementKey, WebElement element) {
+        fingerprintHealer.record(driver, elementKey, element);
+    }
+
+    public WebElement waitForElement(WebDriver driver, String elementKey) {
+        return waitForElement(driver, elementKey, waitTimeoutMillis);
+    }
+
+    /**
+     * Waits up to {@code timeoutMillis} for the key's primary or healed locators to match a
+     * visible element. A MutationObserver in the page reports the match from an async script
+     * as soon as the DOM change that produces it happens, so no polling interval is added; a
+     * wait cut short by navigation carries on in the new document. On timeout the key goes
+     * through the healing tiers as in {@link #findElement}.
+     */
+    @SuppressWarnings("unchecked")
+    public WebElement waitForElement(WebDriver driver, String elementKey, long timeoutMillis) {
+        LocatorRegistry.Entry entry = requireValid(elementKey);
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        List<String> candidates = new ArrayList<>();
+        int primaryIndex = lookupOrder(entry, candidates);
+        List<List<String>> locators = scriptLocators(elementKey, candidates);
+
+        while (true) {
+            long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            Map<String, Object> result = null;
+            if (driver instanceof JavascriptExecutor) {
+                try {
+                    result = (Map<String, Object>) ((JavascriptExecutor) driver).executeAsyncScript(WAIT_SCRIPT,
+                            locators, Math.max(0, Math.min(remainingMillis, waitChunkMillis)));
+                } catch (Exception e) {
+                    // Typically the document unloaded mid-wait; observe the next one
+                    logger.debug("Wait for {} interrupted: {}", elementKey, e.getMessage());
+                }
+            } else {
+                for (int i = 0; i < candidates.size() && result == null; i++) {
+                    WebElement element = probe(driver, locator(elementKey, candidates.get(i)));
+                    if (element != null && element.isDisplayed()) {
+                        result = new HashMap<>();
+                        result.put("index", i);
+                        result.put("element", element);
+                    }
+                }
+            }
+            int index = result != null ? ((Number) result.get("index")).intValue() : -1;
+            if (index >= 0) {
+                metrics.record(elementKey, HealingMetrics.Timer.ELEMENT_WAIT, System.nanoTime() - start);
+                recordOrderedLookup(elementKey, candidates, primaryIndex, index, Collections.<Double>emptyList());
+                WebElement element = (WebElement) result.get("element");
+                logger.info("Element {} appeared after {}ms", elementKey,
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                fingerprintHealer.record(driver, elementKey, element);
+                return element;
+            }
+            if (System.nanoTime() >= deadline || Thread.currentThread().isInterrupted()) {
+                break;
+            }
+            if (result == null) {
+                pause(WAIT_RETRY_MILLIS);
+            }
+        }
+        metrics.record(elementKey, HealingMetrics.Timer.ELEMENT_WAIT, System.nanoTime() - start);
+        logger.warn("No visible match for {} within {}ms, trying the healing tiers", elementKey, timeoutMillis);
+        return findElement(driver, elementKey);
+    }
+
+    private static void pause(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public List<ElementText> findTexts(WebDriver driver, String elementKey) {
+        return findTexts(driver, elementKey, TextMatch.any());
+    }
+
+    /**
+     * Texts and {@code attributes} of every element matching the key, read in one script call
+     * however many elements match, with {@code match} applied in the browser so only the
+     * passing elements are returned. Locators are tried in {@link #findElement}'s order, healed
+     * ones first once the key is known to be broken, and healed as by {@link #findElements}.
+     */
+    @SuppressWarnings("unchecked")
+    public List<ElementText> findTexts(WebDriver driver, String elementKey, TextMatch match, String... attributes) {
+        LocatorRegistry.Entry entry = requireValid(elementKey);
+        if (!(driver instanceof JavascriptExecutor)) {
+            return readTexts(findElements(driver, elementKey), match, attributes);
+        }
+        if (absentKeys.isAbsent(driver, elementKey)) {
+            return Collections.emptyList();
+        }
+        List<String> candidates = new ArrayList<>();
+        int primaryIndex = lookupOrder(entry, candidates);
+
+        long start = System.nanoTime();
+        Map<String, Object> result = runTextsScript(driver, elementKey, scriptLocators(elementKey, candidates), null,
+                match, attributes);
+        metrics.record(elementKey, HealingMetrics.Timer.PRIMARY_LOOKUP, System.nanoTime() - start);
+        if (result == null) {
+            return readTexts(findElements(driver, elementKey), match, attributes);
+        }
+        int index = ((Number) result.get("index")).intValue();
+        List<Double> evalMs = new ArrayList<>();
+        for (Object millis : (List<Object>) result.get("evalMs")) {
+            evalMs.add(((Number) millis).doubleValue());
+        }
+        recordOrderedLookup(elementKey, candidates, primaryIndex, index, evalMs);
+        if (index < 0) {
+            logger.warn("Original and healed locators found no elements for {}: {}", elementKey, entry.getXpath());
+            if (!anchoredKeys(driver, Collections.singletonList(entry), false).isEmpty()) {
+                return Collections.emptyList();
+            }
+            List<WebElement> elements = healMultipleWithSharedAICall(driver, elementKey, entry.getXpath(),
+                    entry.getDescription());
+            if (elements.isEmpty()) {
+                return Collections.emptyList();
+            }
+            // Read the healed elements in one more call
+            result = runTextsScript(driver, elementKey, null, elements, match, attributes);
+            if (result == null) {
+                return readTexts(elements, match, attributes);
+            }
+        }
+        List<ElementText> texts = new ArrayList<>();
+        for (Map<String, Object> item : (List<Map<String, Object>>) result.get("items")) {
+            Map<String, String> values = new HashMap<>();
+            for (Map.Entry<String, Object> attribute : ((Map<String, Object>) item.get("attributes")).entrySet()) {
+                values.put(attribute.getKey(), attribute.getValue() != null ? attribute.getValue().toString() : null);
+            }
+            texts.add(new ElementText((WebElement) item.get("element"), ((Number) item.get("position")).intValue(),
+                    (String) item.get("text"), values));
+        }
+        logger.info("Read {} of {} elements for {} ({})", texts.size(), result.get("count"), elementKey, match);
+        return texts;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> runTextsScript(WebDriver driver, String elementKey, List<List<String>> candidates,
+            List<WebElement> elements, TextMatch match, String... attributes) {
+        try {
+            return (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(TEXTS_SCRIPT, candidates,
+                    elements, match.toScriptArgument(), Arrays.asList(attributes));
+        } catch (Exception e) {
+            logger.warn("Could not read texts for {} in one call: {}", elementKey, e.getMessage());
+            return null;
+        }
+    }
+
+    // Per-element fallback for drivers that cannot run scripts
+    private static List<ElementText> readTexts(List<WebElement> elements, TextMatch match, String... attributes) {
+        List<ElementText> texts = new ArrayList<>();
+        for (int i = 0; i < elements.size(); i++) {
+            WebElement element = elements.get(i);
+            String text = element.getText().trim();
+            if (!match.test(text)) {
+                continue;
+            }
+            Map<String, String> values = new HashMap<>();
+            for (String attribute : attributes) {
+                values.put(attribute, element.getAttribute(attribute));
+            }
+            texts.add(new ElementText(element, i, text, values));
+        }
+        return texts;
+    }
+
+    // Malformed locators fail fast here instead of being sent to the healer
+    private LocatorRegistry.Entry requireValid(String elementKey) {
+        LocatorRegistry.Entry entry = locatorRegistry.entry(elementKey);
+        if (!entry.isValid()) {
+            throw new IllegalStateException("Locator for key '" + elementKey + "' is malformed and will not be healed: "
+                    + entry.getXpath() + " (" + entry.getLocator().getError() + ")");
+        }
+        return entry;
+    }
+
+    // Healed locators are compiled once and reused across lookups
+    private CompiledLocator compiled(String xpath) {
+        return compiledHealedLocators.computeIfAbsent(xpath, CompiledLocator::compile);
+    }
+
+    /**
+     * Zero-wait existence check: evaluates the locator in the page (as CSS when it has a CSS
+     * form) and returns the first match, or null. No exception is thrown for a miss and no
+     * implicit wait is spent.
+     */
+    private WebElement probe(WebDriver driver, CompiledLocator locator) {
+        if (!locator.isValid()) {
+            return null;
+        }
+        try {
+            if (driver instanceof JavascriptExecutor) {
+                Object result = ((JavascriptExecutor) driver).executeScript(PROBE_SCRIPT,
+                        locator.getXpath(), locator.getCss());
+                return result instanceof WebElement ? (WebElement) result : null;
+            }
+            List<WebElement> elements = driver.findElements(locator.getBy());
+            return elements.isEmpty() ? null : elements.get(0);
+        } catch (Exception e) {
+            logger.debug("Probe failed for {}", locator, e);
+            return null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<WebElement> probeAll(WebDriver driver, CompiledLocator locator) {
+        if (!locator.isValid()) {
+            return Collections.emptyList();
+        }
+        try {
+            if (driver instanceof JavascriptExecutor) {
+                Object result = ((JavascriptExecutor) driver).executeScript(PROBE_ALL_SCRIPT,
+                        locator.getXpath(), locator.getCss());
+                return result instanceof List ? (List<WebElement>) result : Collections.<WebElement>emptyList();
+            }
+            return driver.findElements(locator.getBy());
+        } catch (Exception e) {
+            logger.debug("Probe failed for {}", locator, e);
+            return Collections.emptyList();
+        }
+    }
+
+    private WebElement first(List<WebElement> elements) {
+        return elements.isEmpty() ? null : elements.get(0);
+    }
+
+    private List<WebElement> probeAlternates(WebDriver driver, String elementKey) {
+        return probeAlternates(driver, elementKey, healedLocators.alternates(elementKey), false);
+    }
+
+    /**
+     * Tries the key's healed locators in ranked order, in one script call, and returns the
+     * matches of the first that resolves (only its first element unless {@code all}). Misses
+     * and evaluation times are fed back into the ranking.
+     */
+    @SuppressWarnings("unchecked")
+    private List<WebElement> probeAlternates(WebDriver driver, String elementKey, List<String> alternates,
+            boolean all) {
+        if (alternates.isEmpty()) {
+            return Collections.emptyList();
+        }
+        if (!(driver instanceof JavascriptExecutor)) {
+            for (int i = 0; i < alternates.size(); i++) {
+                CompiledLocator locator = compiled(alternates.get(i));
+                List<WebElement> found = all ? probeAll(driver, locator) : singletonOrEmpty(probe(driver, locator));
+                if (!found.isEmpty()) {
+                    healedLocators.recordLookup(elementKey, alternates, i, Collections.<Double>emptyList());
+                    return found;
+                }
             }
+            healedLocators.recordLookup(elementKey, alternates, -1, Collections.<Double>emptyList());
+            return Collections.emptyList();
+        }
+        List<List<String>> locators = new ArrayList<>();
+        for (String xpath : alternates) {
+            CompiledLocator locator = compiled(xpath);
+            locators.add(Arrays.asList(xpath, locator.isValid() ? locator.getCss() : null));
+        }
+        try {
+            Map<String, Object> result = (Map<String, Object>) ((JavascriptExecutor) driver)
+                    .executeScript(ALTERNATES_SCRIPT, locators, all);
+            int index = ((Number) result.get("index")).intValue();
+            List<Double> evalMs = new ArrayList<>();
+            for (Object millis : (List<Object>) result.get("evalMs")) {
+                evalMs.add(((Number) millis).doubleValue());
+            }
+            healedLocators.recordLookup(elementKey, alternates, index, evalMs);
+            return index >= 0 ? (List<WebElement>) result.get("elements") : Collections.<WebElement>emptyList();
+        } catch (Exception e) {
+            logger.debug("Probe of healed locators failed for {}", elementKey, e);
+            return Collections.emptyList();
+        }
+    }
+
+    private static List<WebElement> singletonOrEmpty(WebElement element) {
+        return element != null ? Collections.singletonList(element) : Collections.<WebElement>emptyList();
+    }
+
+    // Local and AI healing tiers, reached once the primary and healed locators have missed
+    private WebElement tryHealedLocators(WebDriver driver,String elementKey, String originalLocator, String elementDescription) {
+        WebElement element = healOffline(driver, elementKey, originalLocator);
+        return element != null ? element
+                : healWithSharedAICall(driver, elementKey, originalLocator, elementDescription);
+    }
+
+    // Offline tier: match the recorded (or locator-derived) fingerprint, then the key's description,
+    // before any network call
+    private WebElement healOffline(WebDriver driver, String elementKey, String originalLocator) {
+        FingerprintHealer.Match match = fingerprintHealer.heal(driver, elementKey, originalLocator);
+        if (match == null) {
+            match = descriptionHealer.heal(driver, elementKey, locatorRegistry.entry(elementKey).getDescription());
+        }
+        if (match == null) {
+            return null;
+        }
+        healedLocators.put(elementKey, match.getXpath());
+        metrics.increment(elementKey, HealingMetrics.Counter.OFFLINE_HEAL);
+        logger.info("Successfully healed locator offline for {}: {}", elementKey, match.getXpath());
+        return match.getElement();
+    }
+
+    private WebElement healWithSharedAICall(WebDriver driver, String elementKey, String originalLocator,
+            String elementDescription) {
+        // Threads missing the same key on the same page share one AI heal
+        SingleFlight.Call<WebElement> heal = healFlights.execute(flightKey(driver, elementKey),
+                () -> healWithAI(driver, elementKey, originalLocator, elementDescription));
+        if (heal.isLeader()) {
+            return heal.get();
+        }
+        try {
+            heal.get();
+        } catch (NoSuchElementException e) {
+            metrics.increment(elementKey, HealingMetrics.Counter.HEAL_FAILURE);
+            throw new NoSuchElementException("All attempts to locate element '" + elementKey + "' failed");
+        }
+        // The leader's element belongs to its own session; resolve its healed locator in ours
+        WebElement element = first(probeAlternates(driver, elementKey));
+        if (element != null) {
+            metrics.increment(elementKey, HealingMetrics.Counter.COALESCED_HEAL);
+            logger.info("Reused concurrent heal for {}: {}", elementKey, healedLocators.get(elementKey));
+            return element;
+        }
+        return healWithAI(driver, elementKey, originalLocator, elementDescription);
+    }
+
+    private WebElement healWithAI(WebDriver driver, String elementKey, String originalLocator,
+            String elementDescription) {
+        // One LLM request for every broken key on this page instead of one per miss
+        Set<String> batchHealed = healPageInBatch(driver, elementKey);
+        if (batchHealed != null) {
+            WebElement element = batchHealed.contains(elementKey)
+                    ? first(probeAlternates(driver, elementKey)) : null;
+            if (element != null) {
+                fingerprintHealer.record(driver, elementKey, element);
+                return element;
+            }
+            metrics.increment(elementKey, HealingMetrics.Counter.HEAL_FAILURE);
+            throw new NoSuchElementException("All attempts to locate element '" + elementKey + "' failed");
         }
         return getNewLocatorFromAI(driver, elementKey, originalLocator, elementDescription);
     }
 
     private List<WebElement> tryHealedLocatorsForMultiple(WebDriver driver,String elementKey, String originalLocator,
             String elementDescription) {
-        String healedLocator = healedLocators.get(elementKey);
-        if (healedLocator != null) {
-            List<WebElement> elements = driver.findElements(By.xpath(healedLocator));
+        List<String> known = healedLocators.alternates(elementKey);
+        if (!known.isEmpty()) {
+            List<WebElement> elements = probeAlternates(driver, elementKey, known, true);
             if (!elements.isEmpty()) {
+                metrics.increment(elementKey, HealingMetrics.Counter.HEALED_HIT);
                 return elements;
             }
-            logger.warn("Healed locator failed for multiple elements {}: {}", elementKey, healedLocator);
+            logger.warn("Healed locators failed for multiple elements {}: {}", elementKey, known);
+        }
+        if (!anchoredKeys(driver, Collections.singletonList(locatorRegistry.entry(elementKey)), false).isEmpty()) {
+            return Collections.emptyList();
+        }
+        return healMultipleWithSharedAICall(driver, elementKey, originalLocator, elementDescription);
+    }
+
+    private List<WebElement> healMultipleWithSharedAICall(WebDriver driver, String elementKey, String originalLocator,
+            String elementDescription) {
+        SingleFlight.Call<List<WebElement>> heal = multipleHealFlights.execute(flightKey(driver, elementKey),
+                () -> healMultipleWithAI(driver, elementKey, originalLocator, elementDescription));
+        List<WebElement> healed = heal.get();
+        if (heal.isLeader()) {
+            return healed;
+        }
+        if (healed.isEmpty()) {
+            metrics.increment(elementKey, HealingMetrics.Counter.HEAL_FAILURE);
+            return Collections.emptyList();
+        }
+        List<WebElement> elements = probeAlternates(driver, elementKey, healedLocators.alternates(elementKey), true);
+        if (!elements.isEmpty()) {
+            metrics.increment(elementKey, HealingMetrics.Counter.COALESCED_HEAL);
+            return elements;
+        }
+        return healMultipleWithAI(driver, elementKey, originalLocator, elementDescription);
+    }
+
+    private List<WebElement> healMultipleWithAI(WebDriver driver, String elementKey, String originalLocator,
+            String elementDescription) {
+        Set<String> batchHealed = healPageInBatch(driver, elementKey);
+        if (batchHealed != null) {
+            if (batchHealed.contains(elementKey)) {
+                return probeAlternates(driver, elementKey, healedLocators.alternates(elementKey), true);
+            }
+            metrics.increment(elementKey, HealingMetrics.Counter.HEAL_FAILURE);
+            return Collections.emptyList();
         }
         return getNewLocatorsFromAI(driver, elementKey, originalLocator, elementDescription);
     }
 
     private WebElement getNewLocatorFromAI(WebDriver driver, String elementKey, String originalLocator, String elementDescription) {
     try {
-        String pageSource = driver.getPageSource();
-        String newLocator = callAILocatorHealer(driver, pageSource, originalLocator, elementDescription);
+        String pageSource = reducePageSource(elementKey, pageSnapshot(driver, elementKey), originalLocator);
+        List<CandidateVerifier.Result> matches = callAILocatorHealer(driver, elementKey, pageSource, originalLocator,
+                elementDescription);
 
-        if (newLocator != null) {
-            // Since callAILocatorHealer already verified this locator works, we can use it directly
-            WebElement element = driver.findElement(By.xpath(newLocator));
-            healedLocators.put(elementKey, newLocator);
+        if (!matches.isEmpty()) {
+            // callAILocatorHealer already verified this locator and returned the matched element
+            CandidateVerifier.Result healed = matches.get(0);
+            WebElement element = healed.getElement() != null
+                    ? healed.getElement() : driver.findElement(By.xpath(healed.getXpath()));
+            String newLocator = saveHeal(elementKey, matches);
+            metrics.increment(elementKey, HealingMetrics.Counter.AI_HEAL);
+            fingerprintHealer.record(driver, elementKey, element);
             logger.info("Successfully healed locator for {}: {}", elementKey, newLocator);
             return element;
         } else {
@@ -125,20 +981,36 @@ public class EAAppElementFinder {
     } catch (Exception e) {
         logger.error("Error during AI locator healing", e);
     }
+    metrics.increment(elementKey, HealingMetrics.Counter.HEAL_FAILURE);
     throw new NoSuchElementException("All attempts to locate element '" + elementKey + "' failed");
 }
 
 
+    // Identifies a heal by key and page, ignoring query string and fragment
+    private static String flightKey(WebDriver driver, String elementKey) {
+        String page;
+        try {
+            page = String.valueOf(driver.getCurrentUrl()).replaceFirst("[?#].*$", "");
+        } catch (Exception e) {
+            page = "";
+        }
+        return elementKey + "@" + page;
+    }
+
     private List<WebElement> getNewLocatorsFromAI(WebDriver driver, String elementKey, String originalLocator,
             String elementDescription) {
         try {
-            String pageSource = driver.getPageSource();
-            String newLocator = callAILocatorHealer(driver, pageSource, originalLocator, elementDescription);
+            String pageSource = reducePageSource(elementKey, pageSnapshot(driver, elementKey), originalLocator);
+            List<CandidateVerifier.Result> matches = callAILocatorHealer(driver, elementKey, pageSource,
+                    originalLocator, elementDescription);
 
-            if (newLocator != null) {
-                List<WebElement> elements = driver.findElements(By.xpath(newLocator));
+            if (!matches.isEmpty()) {
+                // The verifier only returns the first match; fetch the rest without an implicit wait
+                String newLocator = matches.get(0).getXpath();
+                List<WebElement> elements = probeAll(driver, compiled(newLocator));
                 if (!elements.isEmpty()) {
-                    healedLocators.put(elementKey, newLocator);
+                    newLocator = saveHeal(elementKey, matches);
+                    metrics.increment(elementKey, HealingMetrics.Counter.AI_HEAL);
                     logger.info("Successfully healed locator for multiple elements {}: {}", elementKey, newLocator);
                     return elements;
                 }
@@ -147,144 +1019,402 @@ public class EAAppElementFinder {
         } catch (Exception e) {
             logger.error("Error during AI locator healing for multiple elements", e);
         }
+        metrics.increment(elementKey, HealingMetrics.Counter.HEAL_FAILURE);
         return Collections.emptyList();
     }
 
-    private String callAILocatorHealer(WebDriver driver, String html, String originalLocator, String description) {
-        CloseableHttpClient httpClient = HttpClients.createDefault();
+    // Page source of the current page, fetched again only after navigation or a DOM mutation
+    private DomSnapshotCache.Snapshot pageSnapshot(WebDriver driver, String elementKey) {
+        long start = System.nanoTime();
+        DomSnapshotCache.Snapshot snapshot = domSnapshots.get(driver);
+        metrics.record(elementKey, HealingMetrics.Timer.PAGE_SOURCE, System.nanoTime() - start);
+        return snapshot;
+    }
 
-        // 1. Use correct API endpoint (was using api key as URL)
-        HttpPost httpPost = new HttpPost("https://api.openai.com/v1/chat/completions");
+    // Strips the page down to the markup the LLM actually needs before it goes into the prompt
+    private String reducePageSource(String elementKey, DomSnapshotCache.Snapshot snapshot, String originalLocator) {
+        DomReducer.Result reduced = snapshot.derive("reduce:" + originalLocator,
+                () -> DomReducer.reduce(snapshot.getSource(), originalLocator, maxPromptDomBytes));
+        logger.info("Reduced page source for {}: {}", elementKey, reduced);
+        return reduced.getHtml();
+    }
 
-        // 2. Properly format headers
-        httpPost.setHeader("Content-Type", "application/json");
-        httpPost.setHeader("Authorization", "Bearer " + ConfigReader.getProperty("openai.api.key"));
-        httpPost.setHeader("Accept", "application/json");
+    // Every verified candidate, best first; empty when none matched
+    private List<CandidateVerifier.Result> callAILocatorHealer(WebDriver driver, String elementKey, String html,
+            String originalLocator, String description) {
+        String cacheKey = LlmResponseCache.key(model, html, originalLocator, description);
+        String content = responseCache.get(cacheKey);
+        if (content == null) {
+            JsonObject payload = HealingPrompts.singleLocatorPayload(model, temperature, html, originalLocator,
+                    description);
+            if (streamingEnabled) {
+                return streamAILocatorHealer(driver, elementKey, cacheKey, payload);
+            }
+            content = callChatCompletions(elementKey, payload);
+            if (content == null) {
+                return Collections.emptyList();
+            }
+            responseCache.put(cacheKey, content);
+        }
+
+        // Validate the response format and try each locator
+        try {
+            List<String> locators = HealingPrompts.parseLocatorArray(content);
+            if (!locators.isEmpty()) {
+                List<CandidateVerifier.Result> results = verifyCandidates(driver, elementKey, locators);
+                CandidateVerifier.Result best = bestCandidate(results);
+                if (best != null) {
+                    return matches(best, results);
+                }
+                logger.error("All AI-suggested locators failed");
+            }
+        } catch (Exception e) {
+            logger.error("Failed to parse OpenAI response content", e);
+        }
+        responseCache.invalidate(cacheKey);
+        return Collections.emptyList();
+    }
 
-        // 3. Create properly structured JSON payload
-        JsonObject payload = new JsonObject();
-        payload.addProperty("model", "gpt-4o-mini"); // Fixed model name (was gpt-4o-mini)
-        payload.addProperty("temperature", 0.7);
-
-        JsonArray messages = new JsonArray();
-
-        // Add system message to control output format
-        JsonObject systemMessage = new JsonObject();
-        systemMessage.addProperty("role", "system");
-        systemMessage.addProperty("content",
-                "You are a specialized XPath generator that only outputs raw JSON arrays. " +
-                        "Never use markdown formatting, code blocks, or explanatory text. " +
-                        "Your response must be a valid JSON array containing exactly 3 XPath strings, nothing else.");
-        messages.add(systemMessage);
-
-        // Add user message
-        JsonObject userMessage = new JsonObject();
-        userMessage.addProperty("role", "user");
-        userMessage.addProperty("content", String.format(
-                "Given this HTML snippet from EAApp (http://eaapp.somee.com/):\n%s\n\n" +
-                        "The original XPath locator \"%s\" for element \"%s\" is not working. " +
-                        "Generate EXACTLY 3 alternative XPath locators with these rules:\n" +
-                        "1. Use contains() for partial matching\n" +
-                        "2. Combine multiple attributes when possible\n" +
-                        "3. Return ONLY a raw JSON array with 3 XPaths without any markdown formatting\n" +
-                        "Example formats for individual XPaths:\n" +
-                        "//a[contains(@href,\"Login\")]\n" +
-                        "//input[@type=\"submit\" and contains(@value,\"Log in\")]\n" +
-                        "//input[contains(@id,\"Salary\") or @name=\"Salary\"]",
-                html, originalLocator, description));
-        messages.add(userMessage);
-        payload.add("messages", messages);
+    /**
+     * Streams the completion and verifies each candidate as soon as it has been parsed, stopping
+     * the stream at the first visible match. A hidden match is kept and returned only if no
+     * visible one follows. Servers that ignore {@code stream} are handled like a normal response.
+     */
+    private List<CandidateVerifier.Result> streamAILocatorHealer(WebDriver driver, String elementKey,
+            String cacheKey, JsonObject payload) {
+        BlockingQueue<String> arrivals = new LinkedBlockingQueue<>();
+        StreamingLocatorParser parser = new StreamingLocatorParser();
+        long start = System.nanoTime();
+        HealingCallExecutor.Call call = healingCalls.submit(elementKey, LlmRateLimiter.Priority.BLOCKING,
+                HealingPrompts.streaming(payload).toString(), this::chatCompletionsRequest, event -> {
+                    try {
+                        arrivals.addAll(parser.feed(HealingPrompts.extractDelta(event)));
+                        return true;
+                    } catch (RuntimeException e) {
+                        logger.error("Unusable OpenAI stream event for {}: {}", elementKey, e.getMessage());
+                        return false;
+                    }
+                });
 
+        List<String> received = new ArrayList<>();
+        List<CandidateVerifier.Result> results = new ArrayList<>();
+        CandidateVerifier.Result best = null;
         try {
-            // 4. Properly encode the JSON payload
-            StringEntity entity = new StringEntity(payload.toString(), "UTF-8");
-            httpPost.setEntity(entity);
+            while (best == null || !best.isVisible()) {
+                String xpath = arrivals.poll(STREAM_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (xpath == null) {
+                    // Everything the stream produced is queued before the call completes
+                    if (call.isDone() && arrivals.isEmpty()) {
+                        break;
+                    }
+                    continue;
+                }
+                received.add(xpath);
+                List<CandidateVerifier.Result> verified = verifyCandidates(driver, elementKey,
+                        Collections.singletonList(xpath));
+                results.addAll(verified);
+                CandidateVerifier.Result result = bestCandidate(verified);
+                if (result != null && (best == null || (result.isVisible() && !best.isVisible()))) {
+                    best = result;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (best != null && best.isVisible() && !call.isDone()) {
+            logger.info("Stopping OpenAI stream for {} after candidate #{}", elementKey, received.size());
+            call.cancel();
+        }
+        String responseBody = call.get();
+        metrics.record(elementKey, HealingMetrics.Timer.LLM_ROUND_TRIP, System.nanoTime() - start);
 
-            logger.debug("Sending OpenAI request: {}", payload);
+        if (received.isEmpty() && responseBody != null) {
+            // Not an event stream: an API error or a server that answered in one piece
+            try {
+                for (String xpath : HealingPrompts.parseLocatorArray(HealingPrompts.extractContent(responseBody))) {
+                    received.add(xpath);
+                }
+                results = verifyCandidates(driver, elementKey, received);
+                best = bestCandidate(results);
+            } catch (IllegalStateException e) {
+                logger.error(e.getMessage());
+            } catch (Exception e) {
+                logger.error("Failed to parse OpenAI response content", e);
+            }
+        }
+        if (best == null) {
+            logger.error(received.isEmpty() ? "No OpenAI candidates for {}" : "All AI-suggested locators failed for {}",
+                    elementKey);
+            return Collections.emptyList();
+        }
+        // Only the candidates seen so far; enough to replay this heal from the cache
+        responseCache.put(cacheKey, new Gson().toJson(received));
+        return matches(best, results);
+    }
 
-            CloseableHttpResponse response = httpClient.execute(httpPost);
-            String responseBody = EntityUtils.toString(response.getEntity());
+    private static List<CandidateVerifier.Result> matches(CandidateVerifier.Result best,
+            List<CandidateVerifier.Result> results) {
+        List<CandidateVerifier.Result> matches = new ArrayList<>();
+        matches.add(best);
+        for (CandidateVerifier.Result result : results) {
+            if (result != best && result.isMatch()) {
+                matches.add(result);
+            }
+        }
+        return matches;
+    }
 
+    /**
+     * Persists the cheapest locator that resolves to the same element as the best match, with
+     * the other matches as ranked alternates, and returns it.
+     */
+    private String saveHeal(String elementKey, List<CandidateVerifier.Result> matches) {
+        CandidateVerifier.Result best = matches.get(0);
+        String locator = CandidateVerifier.cheapestEquivalent(best, matches);
+        if (!locator.equals(best.getXpath())) {
+            logger.info("Promoting cheaper equivalent locator for {}: {} -> {}", elementKey, best.getXpath(), locator);
+        }
+        List<String> alternates = new ArrayList<>();
+        for (CandidateVerifier.Result match : matches) {
+            if (!match.getXpath().equals(locator)) {
+                alternates.add(match.getXpath());
+            }
+        }
+        healedLocators.put(elementKey, locator, alternates);
+        return locator;
+    }
+
+    // Sends a chat-completions request and returns the assistant content, or null on any failure
+    private String callChatCompletions(String elementKey, JsonObject payload) {
+        String body = payload.toString();
+        try {
+            logger.debug("Sending OpenAI request: {}", payload);
+
+            // Rate-limited, bounded, deadline-limited and retried off the test thread; null when no response arrived
+            long start = System.nanoTime();
+            String responseBody = healingCalls.execute(elementKey, LlmRateLimiter.Priority.BLOCKING, body,
+                    this::chatCompletionsRequest);
+            metrics.record(elementKey, HealingMetrics.Timer.LLM_ROUND_TRIP, System.nanoTime() - start);
+            if (responseBody == null) {
+                logger.error("No OpenAI response for {}", elementKey);
+                return null;
+            }
             logger.debug("OpenAI response: {}", responseBody);
+            return HealingPrompts.extractContent(responseBody);
+        } catch (IllegalStateException e) {
+            logger.error(e.getMessage());
+            return null;
+        } catch (Exception e) {
+            logger.error("Error calling OpenAI API", e);
+            return null;
+        }
+    }
 
-            JsonObject jsonResponse = JsonParser.parseString(responseBody).getAsJsonObject();
+    private HttpPost chatCompletionsRequest(String body) {
+        HttpPost httpPost = new HttpPost(endpoint);
+        httpPost.setHeader("Content-Type", "application/json");
+        httpPost.setHeader("Authorization", "Bearer " + openaiApiKey);
+        httpPost.setHeader("Accept", "application/json");
+        httpPost.setEntity(new StringEntity(body, "UTF-8"));
+        return httpPost;
+    }
+
+    // Evaluates every candidate in one script call and picks the best match
+    private List<CandidateVerifier.Result> verifyCandidates(WebDriver driver, String elementKey,
+            List<String> candidates) {
+        long start = System.nanoTime();
+        List<CandidateVerifier.Result> results = CandidateVerifier.verify(driver, candidates);
+        metrics.record(elementKey, HealingMetrics.Timer.CANDIDATE_VERIFICATION, System.nanoTime() - start);
+        return results;
+    }
+
+    private CandidateVerifier.Result bestCandidate(List<CandidateVerifier.Result> results) {
+        for (CandidateVerifier.Result result : results) {
+            if (!result.isMatch()) {
+                logger.warn("AI-suggested locator failed: {}", result);
+            }
+        }
+        CandidateVerifier.Result best = CandidateVerifier.best(results);
+        if (best != null) {
+            logger.info("Successfully found element with AI-suggested locator: {}", best);
+        }
+        return best;
+    }
 
-            // 5. Handle potential API errors
-            if (jsonResponse.has("error")) {
-                JsonObject error = jsonResponse.getAsJsonObject("error");
-                logger.error("OpenAI API error: {}", error.get("message").getAsString());
+    /**
+     * Heals every broken key of the page elementKey is on with one combined LLM request.
+     * Returns the keys that were healed, or null when no batch request was made.
+     */
+    private Set<String> healPageInBatch(WebDriver driver, String elementKey) {
+        Map<String, String> brokenLocators = findBrokenKeysOnCurrentPage(driver, elementKey);
+        return brokenLocators.size() < 2 ? null : healInBatch(driver, elementKey, brokenLocators);
+    }
+
+    // One LLM request for brokenLocators (key -> original XPath); null when no request was answered
+    private Set<String> healInBatch(WebDriver driver, String elementKey, Map<String, String> brokenLocators) {
+        logger.info("Batch healing {} broken locators on the current page: {}", brokenLocators.size(),
+                brokenLocators.keySet());
+
+        DomSnapshotCache.Snapshot snapshot = pageSnapshot(driver, elementKey);
+        DomReducer.Result reduced = snapshot.derive("reduce:" + brokenLocators.values(),
+                () -> DomReducer.reduce(snapshot.getSource(), brokenLocators.values(), maxPromptDomBytes));
+        logger.info("Reduced page source for batch heal: {}", reduced);
+        String cacheKey = LlmResponseCache.key(model, reduced.getHtml(), brokenLocators.toString());
+        String content = responseCache.get(cacheKey);
+        if (content == null) {
+            JsonObject payload = HealingPrompts.batchLocatorPayload(model, temperature, reduced.getHtml(),
+                    brokenLocators, EAAppLocators.DESCRIPTIONS);
+            content = callChatCompletions(elementKey, payload);
+            if (content == null) {
                 return null;
             }
+            responseCache.put(cacheKey, content);
+        }
+
+        Set<String> healedKeys = new HashSet<>();
+        try {
+            Map<String, List<String>> candidates = HealingPrompts.parseLocatorMap(content);
 
-            String content = jsonResponse.getAsJsonArray("choices")
-                    .get(0).getAsJsonObject()
-                    .getAsJsonObject("message")
-                    .get("content").getAsString();
+            // Verify the candidates of every key in a single script call
+            List<String> allCandidates = new ArrayList<>();
+            Map<String, int[]> ranges = new HashMap<>();
+            for (String key : brokenLocators.keySet()) {
+                List<String> keyCandidates = candidates.getOrDefault(key, Collections.<String>emptyList());
+                ranges.put(key, new int[] { allCandidates.size(), allCandidates.size() + keyCandidates.size() });
+                allCandidates.addAll(keyCandidates);
+            }
+            List<CandidateVerifier.Result> results = verifyCandidates(driver, elementKey, allCandidates);
 
-            // 6. Validate the response format
-            // 6. Validate the response format and try each locator
-            try {
-                JsonArray locators = JsonParser.parseString(content).getAsJsonArray();
-                if (locators.size() > 0) {
-                    for (int i = 0; i < locators.size(); i++) {
-                        String locator = locators.get(i).getAsString();
-                        try {
-                            // Try to find element with this locator
-                            WebElement element = driver.findElement(By.xpath(locator));
-                            if (element != null) {
-                                logger.info("Successfully found element with AI-suggested locator #{}: {}", i + 1,
-                                        locator);
-                                return locator;
-                            }
-                        } catch (NoSuchElementException e) {
-                            logger.warn("AI-suggested locator #{} failed: {}", i + 1, locator);
-                            // Continue to next locator
-                        }
-                    }
-                    logger.error("All AI-suggested locators failed");
+            for (String key : brokenLocators.keySet()) {
+                int[] range = ranges.get(key);
+                List<CandidateVerifier.Result> keyResults = results.subList(range[0], range[1]);
+                CandidateVerifier.Result best = bestCandidate(keyResults);
+                if (best != null) {
+                    String locator = saveHeal(key, matches(best, keyResults));
+                    healedKeys.add(key);
+                    metrics.increment(key, HealingMetrics.Counter.AI_HEAL);
+                    logger.info("Successfully batch-healed locator for {}: {}", key, locator);
+                } else {
+                    logger.warn("Batch heal found no working locator for {}", key);
                 }
-            } catch (Exception e) {
-                logger.error("Failed to parse OpenAI response content", e);
             }
-            return null;
+        } catch (Exception e) {
+            logger.error("Failed to parse batch OpenAI response content", e);
+        }
+        if (healedKeys.isEmpty()) {
+            responseCache.invalidate(cacheKey);
+        }
+        return healedKeys;
+    }
+
+    /**
+     * Probes every key of the page groups elementKey belongs to in one script call, picks the
+     * group that matches the current page best and returns its unresolved keys (key -> original XPath).
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, String> findBrokenKeysOnCurrentPage(WebDriver driver, String elementKey) {
+        Map<String, String> broken = new LinkedHashMap<>();
+        broken.put(elementKey, locatorRegistry.entry(elementKey).getXpath());
+        List<String> pages = locatorRegistry.pagesOf(elementKey);
+        if (!batchHealingEnabled || pages.isEmpty() || !(driver instanceof JavascriptExecutor)) {
+            return broken;
+        }
 
+        Map<String, String> probes = new HashMap<>();
+        for (String page : pages) {
+            for (LocatorRegistry.Entry entry : locatorRegistry.page(page)) {
+                if (entry.isValid()) {
+                    probes.put(entry.getKey(), healedLocators.getOrDefault(entry.getKey(), entry.getXpath()));
+                }
+                if (entry.getAnchor() != null) {
+                    probes.put(entry.getKey() + ANCHOR_SUFFIX, entry.getAnchor().getXpath());
+                }
+            }
+        }
+        Map<String, Object> counts;
+        try {
+            counts = (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(COUNT_MATCHES_SCRIPT, probes);
         } catch (Exception e) {
-            logger.error("Error calling OpenAI API", e);
-            return null;
-        } finally {
-            try {
-                httpClient.close();
-            } catch (IOException e) {
-                logger.error("Error closing HTTP client", e);
+            logger.warn("Could not probe page locators for batch healing: {}", e.getMessage());
+            return broken;
+        }
+
+        String currentPage = null;
+        double bestRatio = -1;
+        for (String page : pages) {
+            List<LocatorRegistry.Entry> entries = locatorRegistry.page(page);
+            int resolved = 0;
+            for (LocatorRegistry.Entry entry : entries) {
+                Object count = counts.get(entry.getKey());
+                if (count instanceof Number && ((Number) count).intValue() > 0) {
+                    resolved++;
+                }
+            }
+            double ratio = (double) resolved / entries.size();
+            if (ratio > bestRatio) {
+                bestRatio = ratio;
+                currentPage = page;
             }
         }
+        // Malformed entries were never probed and are not worth an LLM call, nor are keys whose
+        // anchor resolves: they are absent from this page state rather than broken
+        Set<String> anchored = new HashSet<>();
+        for (LocatorRegistry.Entry entry : locatorRegistry.page(currentPage)) {
+            Object count = counts.get(entry.getKey());
+            Object anchorCount = counts.get(entry.getKey() + ANCHOR_SUFFIX);
+            if (anchorCount instanceof Number && ((Number) anchorCount).intValue() > 0
+                    && count instanceof Number && ((Number) count).intValue() <= 0) {
+                anchored.add(entry.getKey());
+            } else if (count instanceof Number && ((Number) count).intValue() <= 0) {
+                broken.put(entry.getKey(), entry.getXpath());
+            }
+        }
+        // The caller has already ruled out that elementKey itself is merely absent
+        anchored.remove(elementKey);
+        markAbsent(driver, anchored);
+        return broken;
+    }
+
+    public HealerHttpClient.Stats getConnectionPoolStats() {
+        return healerHttpClient.getStats();
+    }
+
+    public HealingMetrics getMetrics() {
+        return metrics;
+    }
+
+    public DomSnapshotCache getDomSnapshots() {
+        return domSnapshots;
+    }
+
+    public LlmResponseCache getResponseCache() {
+        return responseCache;
     }
 
+    // Releases pooled connections; call once the suite is done with the finder
+    public void close() {
+        logger.info("LLM response cache: {}", responseCache.getStats());
+        logger.info("DOM snapshots: {}", domSnapshots);
+        logger.info("Absent keys: {}", absentKeys);
+        healingCalls.close();
+        healerHttpClient.close();
+    }
+
+    public void saveFingerprintsToFile(String filePath) {
+        fingerprintHealer.saveToFile(filePath);
+    }
+
+    public void loadFingerprintsFromFile(String filePath) {
+        fingerprintHealer.loadFromFile(filePath);
+    }
+
+    // Compacts the heal journal into the JSON snapshot; heals are already durable as they happen
     public void saveHealedLocatorsToFile(String filePath) {
-        try (FileWriter writer = new FileWriter(filePath)) {
-            Gson gson = new GsonBuilder()
-                    .setPrettyPrinting()
-                    .disableHtmlEscaping()
-                    .create();
-            gson.toJson(healedLocators, writer);
-            logger.info("Saved healed locators to {}", filePath);
-        } catch (IOException e) {
-            e.printStackTrace();
-            logger.error("Error saving healed locators", e);
-        }
+        healedLocators.compact(filePath);
     }
 
+    // Replays the snapshot plus any journaled heals, including those from crashed or parallel runs
     public void loadHealedLocatorsFromFile(String filePath) {
-        try (FileReader reader = new FileReader(filePath)) {
-            Map<String, String> loaded = new Gson().fromJson(reader,
-                    new TypeToken<Map<String, String>>() {
-                    }.getType());
-            if (loaded != null) {
-                healedLocators.putAll(loaded);
-                logger.info("Loaded {} healed locators from {}", loaded.size(), filePath);
-            }
-        } catch (IOException e) {
-            logger.error("Error loading healed locators", e);
-        }
+        healedLocators.open(filePath);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,210 @@
+package com.eaapp.core;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Lightweight description of a resolved element (tag, id, name, classes, visible text,
+ * neighbouring label and relative position) used to re-identify it after its locator breaks.
+ */
+public class ElementFingerprint {
+
+    private static final Pattern LAST_STEP_TAG = Pattern.compile("/([a-zA-Z][\\w-]*)(?=\\[|$)");
+    private static final Pattern ATTRIBUTE_PREDICATE = Pattern.compile(
+            "(?:contains\\(\\s*)?@([\\w-]+)\\s*(?:=|,)\\s*(?:'([^']*)'|\"([^\"]*)\")");
+    private static final Pattern TEXT_PREDICATE = Pattern.compile(
+            "(?:text\\(\\)|normalize-space\\(\\s*\\)|\\.)\\s*(?:=|,)\\s*(?:'([^']*)'|\"([^\"]*)\")");
+
+    private String tag = "";
+    private String id = "";
+    private String name = "";
+    private String type = "";
+    private List<String> classes = new ArrayList<>();
+    private String text = "";
+    private String label = "";
+    private Double x;
+    private Double y;
+
+    public ElementFingerprint() {
+    }
+
+    @SuppressWarnings("unchecked")
+    static ElementFingerprint fromScriptResult(Map<String, Object> values) {
+        ElementFingerprint fingerprint = new ElementFingerprint();
+        fingerprint.tag = string(values.get("tag"));
+        fingerprint.id = string(values.get("id"));
+        fingerprint.name = string(values.get("name"));
+        fingerprint.type = string(values.get("type"));
+        fingerprint.text = string(values.get("text"));
+        fingerprint.label = string(values.get("label"));
+        if (values.get("classes") instanceof Collection) {
+            for (Object cssClass : (Collection<Object>) values.get("classes")) {
+                fingerprint.classes.add(String.valueOf(cssClass));
+            }
+        }
+        if (values.get("x") instanceof Number && values.get("y") instanceof Number) {
+            fingerprint.x = ((Number) values.get("x")).doubleValue();
+            fingerprint.y = ((Number) values.get("y")).doubleValue();
+        }
+        return fingerprint;
+    }
+
+    /**
+     * Builds a fingerprint from the predicates of a locator that has never resolved,
+     * e.g. {@code //input[@id='UserName1']} gives tag "input" and id "UserName1".
+     */
+    static ElementFingerprint fromXPath(String xpath) {
+        ElementFingerprint fingerprint = new ElementFingerprint();
+        if (xpath == null) {
+            return fingerprint;
+        }
+        Matcher tagMatcher = LAST_STEP_TAG.matcher(xpath);
+        while (tagMatcher.find()) {
+            fingerprint.tag = tagMatcher.group(1).toLowerCase(Locale.ROOT);
+        }
+        Matcher attributes = ATTRIBUTE_PREDICATE.matcher(xpath);
+        while (attributes.find()) {
+            String value = attributes.group(2) != null ? attributes.group(2) : attributes.group(3);
+            switch (attributes.group(1).toLowerCase(Locale.ROOT)) {
+                case "id":
+                    fingerprint.id = value;
+                    break;
+                case "name":
+                    fingerprint.name = value;
+                    break;
+                case "type":
+                    fingerprint.type = value;
+                    break;
+                case "class":
+                    for (String cssClass : value.trim().split("\\s+")) {
+                        if (!cssClass.isEmpty()) {
+                            fingerprint.classes.add(cssClass);
+                        }
+                    }
+                    break;
+                case "value":
+                    fingerprint.text = value;
+                    break;
+                case "placeholder":
+                case "aria-label":
+                    fingerprint.label = value;
+                    break;
+                default:
+                    break;
+            }
+        }
+        Matcher textMatcher = TEXT_PREDICATE.matcher(xpath);
+        if (textMatcher.find()) {
+            fingerprint.text = textMatcher.group(1) != null ? textMatcher.group(1) : textMatcher.group(2);
+        }
+        return fingerprint;
+    }
+
+    // A fingerprint made of a tag alone would match every element of that tag
+    boolean isUsable() {
+        return !id.isEmpty() || !name.isEmpty() || !text.isEmpty() || !label.isEmpty() || !classes.isEmpty();
+    }
+
+    /** Weighted similarity in [0, 1]; only features present in this fingerprint count. */
+    double score(ElementFingerprint candidate) {
+        double total = 0;
+        double weight = 0;
+
+        if (!tag.isEmpty()) {
+            weight += 2;
+            total += tag.equals(candidate.tag) ? 2 : 0;
+        }
+        if (!id.isEmpty()) {
+            weight += 3;
+            total += 3 * similarity(id, candidate.id);
+        }
+        if (!name.isEmpty()) {
+            weight += 2;
+            total += 2 * similarity(name, candidate.name);
+        }
+        if (!type.isEmpty()) {
+            weight += 1;
+            total += type.equalsIgnoreCase(candidate.type) ? 1 : 0;
+        }
+        if (!classes.isEmpty()) {
+            weight += 1;
+            total += jaccard(classes, candidate.classes);
+        }
+        if (!text.isEmpty()) {
+            weight += 2;
+            total += 2 * similarity(text, candidate.text);
+        }
+        if (!label.isEmpty()) {
+            weight += 1;
+            total += similarity(label, candidate.label);
+        }
+        if (x != null && y != null && candidate.x != null && candidate.y != null) {
+            double distance = Math.hypot(x - candidate.x, y - candidate.y);
+            weight += 1;
+            total += Math.max(0, 1 - distance * 4);
+        }
+        return weight == 0 ? 0 : total / weight;
+    }
+
+    static double similarity(String expected, String actual) {
+        String a = expected.trim().toLowerCase(Locale.ROOT);
+        String b = actual == null ? "" : actual.trim().toLowerCase(Locale.ROOT);
+        if (a.isEmpty() || b.isEmpty()) {
+            return 0;
+        }
+        if (a.equals(b)) {
+            return 1;
+        }
+        int longest = Math.max(a.length(), b.length());
+        double editSimilarity = 1.0 - (double) levenshtein(a, b) / longest;
+        boolean contained = Math.min(a.length(), b.length()) >= 3 && (a.contains(b) || b.contains(a));
+        return contained ? Math.max(editSimilarity, 0.85) : editSimilarity;
+    }
+
+    private static int levenshtein(String a, String b) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    private static double jaccard(List<String> expected, List<String> actual) {
+        Set<String> union = new HashSet<>(expected);
+        union.addAll(actual);
+        Set<String> intersection = new HashSet<>(expected);
+        intersection.retainAll(actual);
+        return union.isEmpty() ? 0 : (double) intersection.size() / union.size();
+    }
+
+    private static String string(Object value) {
+        return value == null ? "" : String.valueOf(value).trim();
+    }
+
+    public String getTag() {
+        return tag;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("<%s id='%s' name='%s' text='%s' label='%s'>", tag, id, name, text, label);
+    }
+}
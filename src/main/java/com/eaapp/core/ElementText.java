@@ -0,0 +1,49 @@
+package com.eaapp.core;
+
+import java.util.Collections;
+import java.util.Map;
+
+import org.openqa.selenium.WebElement;
+
+/** Text and requested attributes of one element, as read by {@link EAAppElementFinder#findTexts}. */
+public final class ElementText {
+    private final WebElement element;
+    private final int position;
+    private final String text;
+    private final Map<String, String> attributes;
+
+    ElementText(WebElement element, int position, String text, Map<String, String> attributes) {
+        this.element = element;
+        this.position = position;
+        this.text = text;
+        this.attributes = attributes;
+    }
+
+    public WebElement getElement() {
+        return element;
+    }
+
+    /** Index of the element among everything the key matched, before filtering. */
+    public int getPosition() {
+        return position;
+    }
+
+    /** Rendered text, trimmed and with runs of spaces and tabs collapsed, close to {@link WebElement#getText()}. */
+    public String getText() {
+        return text;
+    }
+
+    /** The attribute's value, or null if it was not requested or the element does not have it. */
+    public String getAttribute(String name) {
+        return attributes.get(name);
+    }
+
+    public Map<String, String> getAttributes() {
+        return Collections.unmodifiableMap(attributes);
+    }
+
+    @Override
+    public String toString() {
+        return position + ": " + text;
+    }
+}
@@ -0,0 +1,216 @@
+package com.eaapp.core;
+
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.json.TypeToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.eaapp.utils.ConfigReader;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+/**
+ * Local, network-free healing tier. Records a fingerprint whenever a key resolves and,
+ * on a miss, scores the current DOM candidates against it in a single script call.
+ */
+public class FingerprintHealer {
+    private static final Logger logger = LoggerFactory.getLogger(FingerprintHealer.class);
+
+    // Shared by the capture and candidate scripts (and DescriptionIndexHealer); defines fp(el) and xp(el)
+    static final String FINGERPRINT_FUNCTIONS =
+            "function clean(s) { return (s || '').replace(/\\s+/g, ' ').trim().substring(0, 100); }" +
+            "function fp(el) {" +
+            "  var r = el.getBoundingClientRect();" +
+            "  var docW = Math.max(document.documentElement.scrollWidth, 1);" +
+            "  var docH = Math.max(document.documentElement.scrollHeight, 1);" +
+            "  var tag = el.tagName.toLowerCase();" +
+            "  var isButton = tag === 'input' && /^(submit|button|reset)$/i.test(el.type);" +
+            "  var label = '';" +
+            "  if (el.id) { var forLabel = document.querySelector('label[for=\"' + CSS.escape(el.id) + '\"]');" +
+            "    if (forLabel) label = forLabel.innerText; }" +
+            "  if (!label && el.closest('label')) label = el.closest('label').innerText;" +
+            "  if (!label) label = el.getAttribute('aria-label') || el.getAttribute('placeholder') || '';" +
+            "  if (!label && el.previousElementSibling) label = el.previousElementSibling.innerText;" +
+            "  return { tag: tag, id: el.id || '', name: el.getAttribute('name') || ''," +
+            "    type: el.getAttribute('type') || ''," +
+            "    classes: (el.getAttribute('class') || '').trim().split(/\\s+/).filter(Boolean)," +
+            "    text: clean(isButton ? el.value : (el.innerText || el.textContent)), label: clean(label)," +
+            "    x: (r.left + window.scrollX) / docW, y: (r.top + window.scrollY) / docH };" +
+            "}" +
+            "function lit(s) { return s.indexOf(\"'\") < 0 ? \"'\" + s + \"'\" : (s.indexOf('\"') < 0 ? '\"' + s + '\"' : null); }" +
+            "function unique(x) { try { return document.evaluate(x, document, null," +
+            "  XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null).snapshotLength === 1; } catch (e) { return false; } }" +
+            "function xp(el) {" +
+            "  var tag = el.tagName.toLowerCase(), options = [];" +
+            "  if (el.id && lit(el.id)) options.push('//' + tag + '[@id=' + lit(el.id) + ']');" +
+            "  var name = el.getAttribute('name');" +
+            "  if (name && lit(name)) options.push('//' + tag + '[@name=' + lit(name) + ']');" +
+            "  if (tag === 'input' && el.value && /^(submit|button|reset)$/i.test(el.type) && lit(el.value))" +
+            "    options.push('//input[@value=' + lit(el.value) + ']');" +
+            "  var text = clean(el.textContent);" +
+            "  if (text && text.length < 60 && lit(text)) options.push('//' + tag + '[normalize-space()=' + lit(text) + ']');" +
+            "  for (var i = 0; i < options.length; i++) { if (unique(options[i])) return options[i]; }" +
+            "  var parts = [];" +
+            "  for (var n = el; n && n.nodeType === 1; n = n.parentNode) {" +
+            "    var index = 1;" +
+            "    for (var s = n.previousElementSibling; s; s = s.previousElementSibling) { if (s.tagName === n.tagName) index++; }" +
+            "    parts.unshift(n.tagName.toLowerCase() + '[' + index + ']');" +
+            "  }" +
+            "  return '/' + parts.join('/');" +
+            "}";
+
+    private static final String CAPTURE_SCRIPT = FINGERPRINT_FUNCTIONS + "return fp(arguments[0]);";
+
+    private static final String CANDIDATES_SCRIPT = FINGERPRINT_FUNCTIONS +
+            "var selector = arguments[0], limit = arguments[1], result = [];" +
+            "var nodes = document.querySelectorAll(selector);" +
+            "for (var i = 0; i < nodes.length && result.length < limit; i++) {" +
+            "  var el = nodes[i];" +
+            "  if (el.type === 'hidden' || !(el.offsetWidth || el.offsetHeight || el.getClientRects().length)) continue;" +
+            "  var f = fp(el); f.element = el; result.push(f);" +
+            "}" +
+            "return result;";
+
+    private static final String XPATH_SCRIPT = FINGERPRINT_FUNCTIONS + "return xp(arguments[0]);";
+
+    private static final String INTERACTIVE_SELECTOR =
+            "a, button, input, select, textarea, label, h1, h2, h3, h4, h5, h6, td, form";
+
+    private final Map<String, ElementFingerprint> fingerprints = new ConcurrentHashMap<>();
+    private final Set<String> capturedThisRun = ConcurrentHashMap.newKeySet();
+    private final double threshold = Double.parseDouble(
+            ConfigReader.getProperty("heal.fingerprint.threshold", "0.8"));
+    private final int candidateLimit = ConfigReader.getIntProperty("heal.fingerprint.max.candidates", 500);
+
+    /** Records the fingerprint of a resolved element once per key per run. */
+    public void record(WebDriver driver, String elementKey, WebElement element) {
+        if (!(driver instanceof JavascriptExecutor) || !capturedThisRun.add(elementKey)) {
+            return;
+        }
+        try {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> values = (Map<String, Object>) ((JavascriptExecutor) driver)
+                    .executeScript(CAPTURE_SCRIPT, element);
+            ElementFingerprint fingerprint = ElementFingerprint.fromScriptResult(values);
+            fingerprints.put(elementKey, fingerprint);
+            logger.debug("Recorded fingerprint for {}: {}", elementKey, fingerprint);
+        } catch (Exception e) {
+            capturedThisRun.remove(elementKey);
+            logger.debug("Could not record fingerprint for {}", elementKey, e);
+        }
+    }
+
+    /**
+     * Scores the visible DOM candidates against the key's fingerprint (recorded, or derived
+     * from the original locator) and returns the best match above the threshold, or null.
+     */
+    @SuppressWarnings("unchecked")
+    public Match heal(WebDriver driver, String elementKey, String originalLocator) {
+        if (!(driver instanceof JavascriptExecutor)) {
+            return null;
+        }
+        ElementFingerprint expected = fingerprints.get(elementKey);
+        if (expected == null) {
+            expected = ElementFingerprint.fromXPath(originalLocator);
+        }
+        if (!expected.isUsable()) {
+            return null;
+        }
+
+        long start = System.nanoTime();
+        try {
+            JavascriptExecutor js = (JavascriptExecutor) driver;
+            String selector = expected.getTag().isEmpty()
+                    ? INTERACTIVE_SELECTOR : expected.getTag() + ", " + INTERACTIVE_SELECTOR;
+            List<Map<String, Object>> candidates = (List<Map<String, Object>>) js.executeScript(
+                    CANDIDATES_SCRIPT, selector, candidateLimit);
+
+            WebElement bestElement = null;
+            double bestScore = 0;
+            for (Map<String, Object> candidate : candidates) {
+                double score = expected.score(ElementFingerprint.fromScriptResult(candidate));
+                if (score > bestScore) {
+                    bestScore = score;
+                    bestElement = (WebElement) candidate.get("element");
+                }
+            }
+
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+            if (bestElement == null || bestScore < threshold) {
+                logger.info("Fingerprint heal found no match for {} (best score {}, {} candidates, {}ms)",
+                        elementKey, String.format("%.2f", bestScore), candidates.size(), elapsedMs);
+                return null;
+            }
+            String xpath = (String) js.executeScript(XPATH_SCRIPT, bestElement);
+            logger.info("Fingerprint heal matched {} with score {} in {}ms: {}",
+                    elementKey, String.format("%.2f", bestScore), elapsedMs, xpath);
+            return new Match(bestElement, xpath, bestScore);
+        } catch (Exception e) {
+            logger.warn("Fingerprint heal failed for {}: {}", elementKey, e.getMessage());
+            logger.debug("Fingerprint heal failure details", e);
+            return null;
+        }
+    }
+
+    public void saveToFile(String filePath) {
+        try (FileWriter writer = new FileWriter(filePath)) {
+            Gson gson = new GsonBuilder()
+                    .setPrettyPrinting()
+                    .disableHtmlEscaping()
+                    .create();
+            gson.toJson(fingerprints, writer);
+            logger.info("Saved {} element fingerprints to {}", fingerprints.size(), filePath);
+        } catch (IOException e) {
+            logger.error("Error saving element fingerprints", e);
+        }
+    }
+
+    public void loadFromFile(String filePath) {
+        try (FileReader reader = new FileReader(filePath)) {
+            Map<String, ElementFingerprint> loaded = new Gson().fromJson(reader,
+                    new TypeToken<Map<String, ElementFingerprint>>() {
+                    }.getType());
+            if (loaded != null) {
+                fingerprints.putAll(loaded);
+                logger.info("Loaded {} element fingerprints from {}", loaded.size(), filePath);
+            }
+        } catch (IOException e) {
+            logger.warn("No element fingerprints loaded from {}: {}", filePath, e.getMessage());
+        }
+    }
+
+    /** Element chosen by the fingerprint tier together with a stable XPath for it. */
+    public static class Match {
+        private final WebElement element;
+        private final String xpath;
+        private final double score;
+
+        Match(WebElement element, String xpath, double score) {
+            this.element = element;
+            this.xpath = xpath;
+            this.score = score;
+        }
+
+        public WebElement getElement() {
+            return element;
+        }
+
+        public String getXpath() {
+            return xpath;
+        }
+
+        public double getScore() {
+            return score;
+        }
+    }
+}
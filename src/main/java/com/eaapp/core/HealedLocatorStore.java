@@ -0,0 +1,525 @@
+package com.eaapp.core;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.eaapp.utils.ConfigReader;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+/**
+ * Healed locators backed by a JSON snapshot plus an append-only journal. Every heal is
+ * appended and fsynced as soon as it happens, under a cross-process file lock, so it
+ * survives a killed JVM and concurrent surefire forks. The journal is periodically
+ * compacted into the snapshot with an atomic rename.
+ * <p>
+ * Each key keeps up to {@code heal.alternates.max} equivalent locators. Each one carries
+ * success and failure counts, an evaluation-time average and the last build it matched in,
+ * and they are ranked by expected cost. Stats only change in memory and are written at
+ * compaction; the journal records new locators only. Snapshots in the old
+ * {@code {"key": "xpath"}} form are still read.
+ */
+public class HealedLocatorStore {
+    private static final Logger logger = LoggerFactory.getLogger(HealedLocatorStore.class);
+
+    // Assumed evaluation time for a locator that has not been timed yet
+    private static final double DEFAULT_EVAL_MS = 1.0;
+    private static final String BUILD = currentBuild();
+
+    private final Map<String, Alternates> locators = new ConcurrentHashMap<>();
+    private final int maxAlternates = Math.max(1, ConfigReader.getIntProperty("heal.alternates.max", 5));
+    private final int compactEvery = ConfigReader.getIntProperty("heal.journal.compact.every", 50);
+    private final Gson gson = new GsonBuilder()
+            .setPrettyPrinting()
+            .disableHtmlEscaping()
+            .create();
+
+    private Path snapshotFile;
+    private Path journalFile;
+    private Path lockFile;
+    private int appendsSinceCompaction;
+
+    /** Best-ranked locator for the key, or null. */
+    public String get(String elementKey) {
+        List<String> ranked = alternates(elementKey);
+        return ranked.isEmpty() ? null : ranked.get(0);
+    }
+
+    public String getOrDefault(String elementKey, String defaultLocator) {
+        String locator = get(elementKey);
+        return locator != null ? locator : defaultLocator;
+    }
+
+    /** Every locator known for the key, cheapest expected lookup first. */
+    public List<String> alternates(String elementKey) {
+        Alternates alternates = locators.get(elementKey);
+        return alternates != null ? alternates.ranked : Collections.<String>emptyList();
+    }
+
+    /**
+     * Records the outcome of trying {@code tried} in order: every locator before
+     * {@code matchedIndex} missed and the one at it matched ({@code -1} if none did).
+     * {@code evalMs} holds the measured evaluation time per tried locator, where known.
+     */
+    public void recordLookup(String elementKey, List<String> tried, int matchedIndex, List<Double> evalMs) {
+        Alternates alternates = locators.get(elementKey);
+        if (alternates != null) {
+            alternates.record(tried, matchedIndex, evalMs);
+        }
+    }
+
+    /** Records a heal and appends it to the journal immediately. */
+    public void put(String elementKey, String locator) {
+        put(elementKey, locator, Collections.<String>emptyList());
+    }
+
+    /**
+     * Records a heal together with the other candidates that verified on the same page, so
+     * they can be tried before any new heal when the winner stops matching.
+     */
+    public void put(String elementKey, String locator, Collection<String> alternates) {
+        List<String> added = locators.computeIfAbsent(elementKey, ignored -> new Alternates())
+                .add(locator, alternates, maxAlternates);
+        if (added.isEmpty()) {
+            return;
+        }
+        synchronized (this) {
+            if (journalFile == null) {
+                return;
+            }
+            try {
+                append(elementKey, locator, added);
+                if (++appendsSinceCompaction >= compactEvery) {
+                    compact();
+                }
+            } catch (IOException e) {
+                logger.error("Error journaling healed locator for {}", elementKey, e);
+            }
+        }
+    }
+
+    /** Binds the store to a snapshot file and replays snapshot plus journal into memory. */
+    public synchronized void open(String filePath) {
+        bind(filePath);
+        try (FileChannel lockChannel = openLockChannel()) {
+            FileLock lock = lockChannel.lock();
+            try {
+                Map<String, List<Alternate>> replayed = replay();
+                merge(replayed);
+                logger.info("Loaded {} healed locators from {} (+journal)", replayed.size(), filePath);
+            } finally {
+                lock.release();
+            }
+        } catch (IOException e) {
+            logger.error("Error loading healed locators", e);
+        }
+    }
+
+    /**
+     * Folds the journal into the snapshot: merges what every process has journaled so far,
+     * writes the snapshot atomically and truncates the journal.
+     */
+    public synchronized void compact(String filePath) {
+        if (snapshotFile == null) {
+            bind(filePath);
+            try {
+                // Entries healed before the store was bound have not been journaled yet
+                for (Map.Entry<String, Alternates> entry : locators.entrySet()) {
+                    List<String> ranked = entry.getValue().ranked;
+                    if (!ranked.isEmpty()) {
+                        append(entry.getKey(), ranked.get(0), ranked);
+                    }
+                }
+            } catch (IOException e) {
+                logger.error("Error journaling healed locators", e);
+            }
+        }
+        try {
+            compact();
+            logger.info("Saved healed locators to {}", snapshotFile);
+        } catch (IOException e) {
+            logger.error("Error saving healed locators", e);
+        }
+    }
+
+    private void bind(String filePath) {
+        snapshotFile = Paths.get(filePath);
+        journalFile = Paths.get(filePath + ".journal");
+        lockFile = Paths.get(filePath + ".lock");
+    }
+
+    private void append(String elementKey, String locator, List<String> added) throws IOException {
+        JsonObject entry = new JsonObject();
+        entry.addProperty("key", elementKey);
+        entry.addProperty("locator", locator);
+        if (added.size() > 1 || !added.contains(locator)) {
+            JsonArray alternates = new JsonArray();
+            for (String alternate : added) {
+                alternates.add(alternate);
+            }
+            entry.add("alternates", alternates);
+        }
+        entry.addProperty("ts", System.currentTimeMillis());
+        ByteBuffer line = ByteBuffer.wrap((entry + "\n").getBytes(StandardCharsets.UTF_8));
+
+        try (FileChannel lockChannel = openLockChannel()) {
+            FileLock lock = lockChannel.lock();
+            try (FileChannel journal = FileChannel.open(journalFile, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                while (line.hasRemaining()) {
+                    journal.write(line);
+                }
+                journal.force(true);
+            } finally {
+                lock.release();
+            }
+        }
+        logger.debug("Journaled healed locator {} -> {}", elementKey, locator);
+    }
+
+    private void compact() throws IOException {
+        try (FileChannel lockChannel = openLockChannel()) {
+            FileLock lock = lockChannel.lock();
+            try {
+                merge(replay());
+                Map<String, List<Alternate>> merged = new TreeMap<>();
+                for (Map.Entry<String, Alternates> entry : locators.entrySet()) {
+                    merged.put(entry.getKey(), entry.getValue().copy());
+                }
+
+                Path temp = Files.createTempFile(snapshotFile.toAbsolutePath().getParent(),
+                        snapshotFile.getFileName().toString(), ".tmp");
+                Files.write(temp, gson.toJson(merged).getBytes(StandardCharsets.UTF_8));
+                Files.move(temp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+                try (FileChannel journal = FileChannel.open(journalFile, StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE)) {
+                    journal.truncate(0);
+                    journal.force(true);
+                }
+                appendsSinceCompaction = 0;
+                logger.debug("Compacted {} healed locators into {}", merged.size(), snapshotFile);
+            } finally {
+                lock.release();
+            }
+        }
+    }
+
+    // Folds what is on disk into memory; other forks' stats count up to the larger of the two
+    private void merge(Map<String, List<Alternate>> stored) {
+        for (Map.Entry<String, List<Alternate>> entry : stored.entrySet()) {
+            locators.computeIfAbsent(entry.getKey(), ignored -> new Alternates())
+                    .merge(entry.getValue(), maxAlternates);
+        }
+    }
+
+    // Snapshot first, then journal entries in order; a torn last line from a crash is skipped
+    private Map<String, List<Alternate>> replay() throws IOException {
+        Map<String, List<Alternate>> replayed = new LinkedHashMap<>();
+        if (Files.exists(snapshotFile)) {
+            try (Reader reader = Files.newBufferedReader(snapshotFile, StandardCharsets.UTF_8)) {
+                JsonElement snapshot = JsonParser.parseReader(reader);
+                if (snapshot.isJsonObject()) {
+                    for (Map.Entry<String, JsonElement> entry : snapshot.getAsJsonObject().entrySet()) {
+                        replayed.put(entry.getKey(), readAlternates(entry.getValue()));
+                    }
+                }
+            }
+        }
+        if (Files.exists(journalFile)) {
+            try (BufferedReader reader = Files.newBufferedReader(journalFile, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.trim().isEmpty()) {
+                        continue;
+                    }
+                    try {
+                        JsonObject entry = JsonParser.parseString(line).getAsJsonObject();
+                        List<Alternate> alternates = replayed.computeIfAbsent(entry.get("key").getAsString(),
+                                ignored -> new ArrayList<>());
+                        addIfAbsent(alternates, entry.get("locator").getAsString());
+                        if (entry.has("alternates")) {
+                            for (JsonElement alternate : entry.getAsJsonArray("alternates")) {
+                                addIfAbsent(alternates, alternate.getAsString());
+                            }
+                        }
+                    } catch (Exception e) {
+                        logger.warn("Skipping unreadable journal entry in {}: {}", journalFile, line);
+                    }
+                }
+            }
+        }
+        return replayed;
+    }
+
+    // Either the ranked list of alternates or, in snapshots from before alternates, a bare locator
+    private List<Alternate> readAlternates(JsonElement value) {
+        List<Alternate> alternates = new ArrayList<>();
+        if (value.isJsonPrimitive()) {
+            alternates.add(new Alternate(value.getAsString()));
+        } else if (value.isJsonArray()) {
+            for (JsonElement element : value.getAsJsonArray()) {
+                Alternate alternate = gson.fromJson(element, Alternate.class);
+                if (alternate != null && alternate.locator != null) {
+                    alternates.add(alternate);
+                }
+            }
+        }
+        return alternates;
+    }
+
+    private static void addIfAbsent(List<Alternate> alternates, String locator) {
+        for (Alternate alternate : alternates) {
+            if (alternate.locator.equals(locator)) {
+                return;
+            }
+        }
+        alternates.add(new Alternate(locator));
+    }
+
+    private static String currentBuild() {
+        String build = System.getProperty("build.id", ConfigReader.getProperty("build.id"));
+        for (String variable : new String[] { "BUILD_NUMBER", "GITHUB_RUN_ID", "CI_PIPELINE_ID" }) {
+            if (build == null || build.isEmpty()) {
+                build = System.getenv(variable);
+            }
+        }
+        return build == null || build.isEmpty() ? "local" : build;
+    }
+
+    private FileChannel openLockChannel() throws IOException {
+        return FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+    }
+
+    /** One known locator for a key and how it has fared. Field names are the snapshot format. */
+    public static final class Alternate {
+        private String locator;
+        private long successes;
+        private long failures;
+        private double evalMs = -1;
+        private String lastSeenBuild;
+
+        // For Gson, so that fields missing from a snapshot keep their defaults
+        private Alternate() {
+        }
+
+        Alternate(String locator) {
+            this.locator = locator;
+        }
+
+        Alternate(Alternate other) {
+            this.locator = other.locator;
+            this.successes = other.successes;
+            this.failures = other.failures;
+            this.evalMs = other.evalMs;
+            this.lastSeenBuild = other.lastSeenBuild;
+        }
+
+        public String getLocator() {
+            return locator;
+        }
+
+        public long getSuccesses() {
+            return successes;
+        }
+
+        public long getFailures() {
+            return failures;
+        }
+
+        /** Moving average of the in-page evaluation time, or -1 if never timed. */
+        public double getEvalMs() {
+            return evalMs;
+        }
+
+        public String getLastSeenBuild() {
+            return lastSeenBuild;
+        }
+
+        /** Laplace-smoothed chance that this locator matches. */
+        public double successRate() {
+            return (successes + 1.0) / (successes + failures + 2.0);
+        }
+
+        /**
+         * Trying locators in descending order of success rate per millisecond minimises the
+         * expected time to the first match.
+         */
+        double rank() {
+            return successRate() / expectedEvalMs();
+        }
+
+        /**
+         * Charges just enough failures to rank below {@code other}. Successes are kept, so
+         * merging with the larger counts on disk cannot lift it back above.
+         */
+        void demoteBelow(Alternate other) {
+            // (s + 1) / ((s + f + 2) * evalMs) < other.rank(), solved for the smallest f
+            long needed = (long) Math.floor((successes + 1) / (other.rank() * expectedEvalMs())) - successes - 1;
+            failures = Math.max(failures, needed);
+        }
+
+        private double expectedEvalMs() {
+            return Math.max(0.01, evalMs >= 0 ? evalMs : DEFAULT_EVAL_MS);
+        }
+
+        void recordSuccess(double measuredMs) {
+            successes++;
+            lastSeenBuild = BUILD;
+            recordEval(measuredMs);
+        }
+
+        void recordFailure(double measuredMs) {
+            failures++;
+            recordEval(measuredMs);
+        }
+
+        private void recordEval(double measuredMs) {
+            if (measuredMs >= 0) {
+                evalMs = evalMs < 0 ? measuredMs : 0.8 * evalMs + 0.2 * measuredMs;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s (%d/%d, %.3fms, build %s)", locator, successes, successes + failures, evalMs,
+                    lastSeenBuild);
+        }
+    }
+
+    /** A key's alternates; {@code ranked} is republished after every change for lock-free reads. */
+    private static final class Alternates {
+        private final List<Alternate> alternates = new ArrayList<>();
+        private volatile List<String> ranked = Collections.emptyList();
+
+        /**
+         * Adds the winner and its equivalents and ranks the winner first, whatever its history;
+         * returns the locators that were new.
+         */
+        synchronized List<String> add(String winner, Collection<String> equivalents, int max) {
+            List<String> added = new ArrayList<>();
+            Alternate best = find(winner);
+            if (best == null) {
+                best = new Alternate(winner);
+                alternates.add(best);
+                added.add(winner);
+            }
+            best.recordSuccess(-1);
+            List<Alternate> fresh = new ArrayList<>();
+            for (String locator : equivalents) {
+                if (find(locator) == null) {
+                    Alternate alternate = new Alternate(locator);
+                    alternate.recordSuccess(-1);
+                    alternates.add(alternate);
+                    fresh.add(alternate);
+                    added.add(locator);
+                }
+            }
+            // Whatever still outranks a locator that was just verified is what stopped matching, or an
+            // untimed equivalent of a winner with failures behind it. New equivalents are added after
+            // the winner, so the stable sort already settles a tie with them.
+            for (Alternate alternate : alternates) {
+                if (alternate != best && (alternate.rank() > best.rank()
+                        || (alternate.rank() == best.rank() && !fresh.contains(alternate)))) {
+                    alternate.demoteBelow(best);
+                }
+            }
+            rerank(max, best);
+            return added;
+        }
+
+        synchronized void record(List<String> tried, int matchedIndex, List<Double> evalMs) {
+            int last = matchedIndex >= 0 ? matchedIndex : tried.size() - 1;
+            for (int i = 0; i <= last && i < tried.size(); i++) {
+                Alternate alternate = find(tried.get(i));
+                if (alternate == null) {
+                    continue;
+                }
+                double measured = i < evalMs.size() && evalMs.get(i) != null ? evalMs.get(i) : -1;
+                if (i == matchedIndex) {
+                    alternate.recordSuccess(measured);
+                } else {
+                    alternate.recordFailure(measured);
+                }
+            }
+            rerank(Integer.MAX_VALUE, null);
+        }
+
+        synchronized void merge(List<Alternate> stored, int max) {
+            for (Alternate other : stored) {
+                Alternate mine = find(other.locator);
+                if (mine == null) {
+                    alternates.add(new Alternate(other));
+                    continue;
+                }
+                mine.successes = Math.max(mine.successes, other.successes);
+                mine.failures = Math.max(mine.failures, other.failures);
+                if (mine.evalMs < 0) {
+                    mine.evalMs = other.evalMs;
+                }
+                if (mine.lastSeenBuild == null) {
+                    mine.lastSeenBuild = other.lastSeenBuild;
+                }
+            }
+            rerank(max, null);
+        }
+
+        synchronized List<Alternate> copy() {
+            List<Alternate> copies = new ArrayList<>();
+            for (Alternate alternate : alternates) {
+                copies.add(new Alternate(alternate));
+            }
+            return copies;
+        }
+
+        private Alternate find(String locator) {
+            for (Alternate alternate : alternates) {
+                if (alternate.locator.equals(locator)) {
+                    return alternate;
+                }
+            }
+            return null;
+        }
+
+        // Stable sort, so ties keep insertion order; the worst-ranked are dropped beyond max
+        private void rerank(int max, Alternate keep) {
+            alternates.sort(Comparator.comparingDouble(Alternate::rank).reversed());
+            for (int i = alternates.size() - 1; i >= 0 && alternates.size() > max; i--) {
+                if (alternates.get(i) != keep) {
+                    alternates.remove(i);
+                }
+            }
+            List<String> locators = new ArrayList<>(alternates.size());
+            for (Alternate alternate : alternates) {
+                locators.add(alternate.locator);
+            }
+            ranked = Collections.unmodifiableList(locators);
+        }
+    }
+}
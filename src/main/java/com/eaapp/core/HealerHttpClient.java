@@ -0,0 +1,265 @@
+package com.eaapp.core;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.entity.ContentType;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.ManagedHttpClientConnectionFactory;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.util.EntityUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.eaapp.utils.ConfigReader;
+
+/**
+ * Shared, connection-pooled HTTP transport for AI healing calls.
+ * One instance is owned by the element finder so consecutive heals reuse
+ * kept-alive connections instead of paying a new TCP+TLS handshake each time.
+ */
+public class HealerHttpClient implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(HealerHttpClient.class);
+
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final CloseableHttpClient httpClient;
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong connectionsOpened = new AtomicLong();
+
+    public HealerHttpClient() {
+        int maxConnections = ConfigReader.getIntProperty("ai.http.max.connections", 20);
+        int maxPerRoute = ConfigReader.getIntProperty("ai.http.max.connections.per.route", 10);
+        long keepAliveMs = ConfigReader.getLongProperty("ai.http.keepalive.ms", 30000L);
+        int connectTimeoutMs = ConfigReader.getIntProperty("ai.http.connect.timeout.ms", 5000);
+        int readTimeoutMs = ConfigReader.getIntProperty("ai.http.read.timeout.ms", 60000);
+
+        Registry<ConnectionSocketFactory> socketFactories = RegistryBuilder.<ConnectionSocketFactory>create()
+                .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                .register("https", SSLConnectionSocketFactory.getSocketFactory())
+                .build();
+
+        // Count physically opened connections so reuse can be derived from the request count
+        connectionManager = new PoolingHttpClientConnectionManager(socketFactories, (route, config) -> {
+            connectionsOpened.incrementAndGet();
+            return ManagedHttpClientConnectionFactory.INSTANCE.create(route, config);
+        });
+        connectionManager.setMaxTotal(maxConnections);
+        connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+        connectionManager.setValidateAfterInactivity(2000);
+
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout(connectTimeoutMs)
+                .setConnectionRequestTimeout(connectTimeoutMs)
+                .setSocketTimeout(readTimeoutMs)
+                .build();
+
+        httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .setKeepAliveStrategy((response, context) -> {
+                    // Honour the server's Keep-Alive header, otherwise fall back to the configured value
+                    long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE
+                            .getKeepAliveDuration(response, context);
+                    return serverKeepAlive > 0 ? Math.min(serverKeepAlive, keepAliveMs) : keepAliveMs;
+                })
+                .evictExpiredConnections()
+                .evictIdleConnections(keepAliveMs, TimeUnit.MILLISECONDS)
+                .build();
+
+        logger.info("Initialized pooled AI HTTP client (max={}, perRoute={}, keepAlive={}ms, connect={}ms, read={}ms)",
+                maxConnections, maxPerRoute, keepAliveMs, connectTimeoutMs, readTimeoutMs);
+    }
+
+    /**
+     * Executes the request and returns the response body. The entity is always fully
+     * consumed so the underlying connection goes back to the pool.
+     */
+    public String execute(HttpPost request) throws IOException {
+        return send(request).getBody();
+    }
+
+    /** Like {@link #execute(HttpPost)}, but keeps the status code and Retry-After hint. */
+    public Response send(HttpPost request) throws IOException {
+        requestCount.incrementAndGet();
+        try (CloseableHttpResponse response = httpClient.execute(request)) {
+            HttpEntity entity = response.getEntity();
+            String body = entity != null ? EntityUtils.toString(entity, "UTF-8") : "";
+            int status = response.getStatusLine().getStatusCode();
+            logger.debug("AI HTTP status {} - {}", status, getStats());
+            Header retryAfter = response.getFirstHeader("Retry-After");
+            return new Response(status, body, retryAfter != null ? retryAfterMillis(retryAfter.getValue()) : -1);
+        }
+    }
+
+    /**
+     * Sends a streaming request and passes the data of each server-sent event to
+     * {@code onEvent} as it arrives, until {@code [DONE]}, the end of the stream, or
+     * {@code onEvent} returning false. For an event stream the returned body is the data of
+     * the last event; any other response (an API error, or a server ignoring {@code stream})
+     * is read whole as in {@link #send(HttpPost)}.
+     */
+    public Response stream(HttpPost request, Predicate<String> onEvent) throws IOException {
+        requestCount.incrementAndGet();
+        try (CloseableHttpResponse response = httpClient.execute(request)) {
+            HttpEntity entity = response.getEntity();
+            int status = response.getStatusLine().getStatusCode();
+            Header retryAfter = response.getFirstHeader("Retry-After");
+            long retryAfterMillis = retryAfter != null ? retryAfterMillis(retryAfter.getValue()) : -1;
+            ContentType contentType = entity != null ? ContentType.get(entity) : null;
+            if (contentType == null || !"text/event-stream".equalsIgnoreCase(contentType.getMimeType())) {
+                String body = entity != null ? EntityUtils.toString(entity, "UTF-8") : "";
+                return new Response(status, body, retryAfterMillis);
+            }
+            logger.debug("AI HTTP status {} (event stream) - {}", status, getStats());
+            String lastData = "";
+            BufferedReader reader = new BufferedReader(new InputStreamReader(entity.getContent(), StandardCharsets.UTF_8));
+            for (String line; (line = reader.readLine()) != null;) {
+                if (!line.startsWith("data:")) {
+                    continue;
+                }
+                String data = line.substring(5).trim();
+                if ("[DONE]".equals(data)) {
+                    break;
+                }
+                lastData = data;
+                if (!onEvent.test(data)) {
+                    // Closing would otherwise drain the rest of the stream to keep the connection
+                    request.abort();
+                    break;
+                }
+            }
+            return new Response(status, lastData, retryAfterMillis);
+        }
+    }
+
+    // Retry-After in delta-seconds; the HTTP-date form is not used by the OpenAI API
+    private static long retryAfterMillis(String value) {
+        try {
+            return TimeUnit.SECONDS.toMillis(Long.parseLong(value.trim()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    public Stats getStats() {
+        PoolStats pool = connectionManager.getTotalStats();
+        return new Stats(requestCount.get(), connectionsOpened.get(), pool.getLeased(), pool.getAvailable(),
+                pool.getPending(), pool.getMax());
+    }
+
+    @Override
+    public void close() {
+        try {
+            httpClient.close();
+            logger.info("Closed AI HTTP client - {}", getStats());
+        } catch (IOException e) {
+            logger.error("Error closing HTTP client", e);
+        }
+    }
+
+    /** Status, body and Retry-After hint (in ms, or -1) of one exchange. */
+    public static class Response {
+        private final int status;
+        private final String body;
+        private final long retryAfterMillis;
+
+        Response(int status, String body, long retryAfterMillis) {
+            this.status = status;
+            this.body = body;
+            this.retryAfterMillis = retryAfterMillis;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        public String getBody() {
+            return body;
+        }
+
+        public long getRetryAfterMillis() {
+            return retryAfterMillis;
+        }
+
+        public boolean isSuccess() {
+            return status >= 200 && status < 300;
+        }
+
+        /** Rate limiting and server-side failures are worth another attempt. */
+        public boolean isRetryable() {
+            return status == 429 || status >= 500;
+        }
+    }
+
+    /** Snapshot of request and connection-pool counters. */
+    public static class Stats {
+        private final long requests;
+        private final long connectionsOpened;
+        private final int leased;
+        private final int available;
+        private final int pending;
+        private final int max;
+
+        Stats(long requests, long connectionsOpened, int leased, int available, int pending, int max) {
+            this.requests = requests;
+            this.connectionsOpened = connectionsOpened;
+            this.leased = leased;
+            this.available = available;
+            this.pending = pending;
+            this.max = max;
+        }
+
+        public long getRequests() {
+            return requests;
+        }
+
+        public long getConnectionsOpened() {
+            return connectionsOpened;
+        }
+
+        public long getConnectionsReused() {
+            return Math.max(0, requests - connectionsOpened);
+        }
+
+        public int getLeased() {
+            return leased;
+        }
+
+        public int getAvailable() {
+            return available;
+        }
+
+        public int getPending() {
+            return pending;
+        }
+
+        public int getMax() {
+            return max;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("requests=%d, opened=%d, reused=%d, leased=%d, available=%d, pending=%d, max=%d",
+                    requests, connectionsOpened, getConnectionsReused(), leased, available, pending, max);
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package com.eaapp.core;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.apache.http.client.methods.HttpPost;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.eaapp.utils.ConfigReader;
+
+/**
+ * Runs AI calls on a bounded executor so a slow or failing API cannot stall test threads:
+ * each call gets a deadline, every attempt waits for its {@link LlmRateLimiter} budget,
+ * 429/5xx responses and I/O errors are retried with full-jitter backoff (or the server's
+ * Retry-After), and a {@link CircuitBreaker} fails calls fast once the API keeps failing.
+ */
+public class HealingCallExecutor implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(HealingCallExecutor.class);
+
+    private final HealerHttpClient httpClient;
+    private final HealingMetrics metrics;
+    private final LlmRateLimiter rateLimiter = new LlmRateLimiter();
+    private final CircuitBreaker circuitBreaker;
+    private final ThreadPoolExecutor executor;
+    private final int maxAttempts = Math.max(1, ConfigReader.getIntProperty("max.healing.attempts", 3));
+    private final long deadlineMillis = ConfigReader.getLongProperty("ai.heal.deadline.ms", 20000);
+    private final long retryBaseMillis = ConfigReader.getLongProperty("ai.heal.retry.base.ms", 500);
+    private final long retryMaxMillis = ConfigReader.getLongProperty("ai.heal.retry.max.ms", 8000);
+
+    public HealingCallExecutor(HealerHttpClient httpClient, HealingMetrics metrics) {
+        this.httpClient = httpClient;
+        this.metrics = metrics;
+        this.circuitBreaker = new CircuitBreaker("openai",
+                ConfigReader.getIntProperty("ai.circuit.window", 20),
+                ConfigReader.getIntProperty("ai.circuit.min.calls", 5),
+                Double.parseDouble(ConfigReader.getProperty("ai.circuit.failure.rate", "0.5")),
+                ConfigReader.getLongProperty("ai.circuit.open.ms", 30000));
+        int concurrency = ConfigReader.getIntProperty("ai.heal.max.concurrency", 4);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(concurrency, concurrency, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(ConfigReader.getIntProperty("ai.heal.queue.capacity", 32)), runnable -> {
+                    Thread thread = new Thread(runnable, "ai-heal-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Sends {@code requestBody} as built by {@code toRequest} (called once per attempt) and
+     * returns the body of the final response, which may be an API error body. Returns null
+     * without a response: circuit open, executor saturated, no rate budget in time, I/O
+     * failures or deadline exceeded. Time spent queued is recorded as QUEUE_WAIT.
+     */
+    public String execute(String elementKey, LlmRateLimiter.Priority priority, String requestBody,
+            Function<String, HttpPost> toRequest) {
+        return submit(elementKey, priority, requestBody, toRequest, null).get();
+    }
+
+    /**
+     * Like {@link #execute}, but returns at once. With {@code onEvent} the response is read as
+     * an event stream and each event's data is handed over as it arrives (on an executor
+     * thread); the call's result is then the data of the last event.
+     */
+    public Call submit(String elementKey, LlmRateLimiter.Priority priority, String requestBody,
+            Function<String, HttpPost> toRequest, Predicate<String> onEvent) {
+        long submitted = System.nanoTime();
+        long deadline = submitted + TimeUnit.MILLISECONDS.toNanos(deadlineMillis);
+        int estimatedTokens = rateLimiter.estimateTokens(requestBody);
+        Exchange exchange = new Exchange(() -> toRequest.apply(requestBody), onEvent);
+        // The executor thread has no test scope of its own
+        HealingMetrics scope = HealingMetrics.currentTestScope();
+        try {
+            Future<String> future = executor.submit(() -> {
+                long queuedNanos = System.nanoTime() - submitted;
+                return attempt(elementKey, priority, estimatedTokens, exchange, deadline, queuedNanos, scope);
+            });
+            return new Call(future, exchange, deadline);
+        } catch (RejectedExecutionException e) {
+            logger.warn("AI healing executor saturated ({} active, {} queued), skipping AI call",
+                    executor.getActiveCount(), executor.getQueue().size());
+            return new Call(null, exchange, deadline);
+        }
+    }
+
+    private String attempt(String elementKey, LlmRateLimiter.Priority priority, int estimatedTokens,
+            Exchange exchange, long deadline, long queuedNanos, HealingMetrics scope) throws InterruptedException {
+        String lastBody = null;
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            // Fail fast: an open circuit neither waits for nor spends rate budget
+            if (!circuitBreaker.tryAcquire()) {
+                logger.warn("Skipping AI call, circuit is open: {}", circuitBreaker);
+                metrics.record(elementKey, HealingMetrics.Timer.QUEUE_WAIT, queuedNanos, scope);
+                return lastBody;
+            }
+            long acquireStart = System.nanoTime();
+            long waited;
+            try {
+                waited = rateLimiter.acquire(estimatedTokens, priority, deadline);
+            } catch (InterruptedException e) {
+                // Cancelled by the caller, usually at the same deadline the limiter was waiting for.
+                // The API was never asked, but the permit must be settled or a half-open trial hangs.
+                circuitBreaker.onSuccess();
+                metrics.record(elementKey, HealingMetrics.Timer.QUEUE_WAIT,
+                        queuedNanos + System.nanoTime() - acquireStart, scope);
+                throw e;
+            }
+            if (waited < 0) {
+                logger.warn("No LLM rate budget for {} before the deadline ({})", elementKey, rateLimiter);
+                circuitBreaker.onSuccess();
+                metrics.record(elementKey, HealingMetrics.Timer.QUEUE_WAIT,
+                        queuedNanos + System.nanoTime() - acquireStart, scope);
+                return lastBody;
+            }
+            queuedNanos += waited;
+            long retryAfterMillis = -1;
+            boolean outcomeRecorded = false;
+            try {
+                HttpPost request = exchange.requests.get();
+                exchange.inFlight.set(request);
+                HealerHttpClient.Response response = exchange.onEvent != null
+                        ? httpClient.stream(request, exchange.onEvent) : httpClient.send(request);
+                lastBody = response.getBody();
+                if (!response.isRetryable()) {
+                    // Any other answer, including a 4xx, means the API itself is up
+                    circuitBreaker.onSuccess();
+                    outcomeRecorded = true;
+                    rateLimiter.reconcile(estimatedTokens, HealingPrompts.totalTokens(lastBody));
+                    metrics.record(elementKey, HealingMetrics.Timer.QUEUE_WAIT, queuedNanos, scope);
+                    return lastBody;
+                }
+                circuitBreaker.onFailure();
+                outcomeRecorded = true;
+                retryAfterMillis = response.getRetryAfterMillis();
+                if (response.getStatus() == 429) {
+                    rateLimiter.onRateLimited(retryAfterMillis);
+                }
+                logger.warn("AI call attempt {}/{} got HTTP {}", attempt, maxAttempts, response.getStatus());
+            } catch (IOException e) {
+                outcomeRecorded = true;
+                if (exchange.cancelled) {
+                    // Aborted by the caller, not a failure of the API
+                    circuitBreaker.onSuccess();
+                    metrics.record(elementKey, HealingMetrics.Timer.QUEUE_WAIT, queuedNanos, scope);
+                    return lastBody;
+                }
+                circuitBreaker.onFailure();
+                logger.warn("AI call attempt {}/{} failed: {}", attempt, maxAttempts, e.getMessage());
+            } finally {
+                exchange.inFlight.set(null);
+                if (!outcomeRecorded) {
+                    // Anything unexpected still settles the permit, or a half-open trial would never end
+                    circuitBreaker.onFailure();
+                }
+            }
+
+            if (attempt == maxAttempts || Thread.currentThread().isInterrupted()) {
+                break;
+            }
+            long backoffMillis = retryAfterMillis >= 0 ? retryAfterMillis : jitteredBackoff(attempt);
+            if (System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(backoffMillis) >= deadline) {
+                logger.warn("Not retrying AI call: a {}ms backoff would pass the deadline", backoffMillis);
+                break;
+            }
+            TimeUnit.MILLISECONDS.sleep(backoffMillis);
+        }
+        metrics.record(elementKey, HealingMetrics.Timer.QUEUE_WAIT, queuedNanos, scope);
+        return lastBody;
+    }
+
+    // Full jitter: uniform in [0, min(max, base * 2^(attempt-1))]
+    private long jitteredBackoff(int attempt) {
+        long ceiling = Math.min(retryMaxMillis, retryBaseMillis << Math.min(attempt - 1, 20));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    /** Request factory, event callback and in-flight request shared by a call and its attempts. */
+    private static final class Exchange {
+        private final Supplier<HttpPost> requests;
+        private final Predicate<String> onEvent;
+        private final AtomicReference<HttpPost> inFlight = new AtomicReference<>();
+        private volatile boolean cancelled;
+
+        Exchange(Supplier<HttpPost> requests, Predicate<String> onEvent) {
+            this.requests = requests;
+            this.onEvent = onEvent;
+        }
+
+        void abort() {
+            HttpPost request = inFlight.get();
+            if (request != null) {
+                request.abort();
+            }
+        }
+    }
+
+    /** A submitted AI call; {@link #get()} waits for it until its deadline. */
+    public final class Call {
+        private final Future<String> future;
+        private final Exchange exchange;
+        private final long deadline;
+
+        Call(Future<String> future, Exchange exchange, long deadline) {
+            this.future = future;
+            this.exchange = exchange;
+            this.deadline = deadline;
+        }
+
+        /** True once the call has finished, was rejected, or its deadline has passed. */
+        public boolean isDone() {
+            return future == null || future.isDone() || System.nanoTime() >= deadline;
+        }
+
+        /** Stops the call, aborting a response still being read; the API is not blamed for it. */
+        public void cancel() {
+            if (future != null) {
+                exchange.cancelled = true;
+                future.cancel(true);
+                exchange.abort();
+            }
+        }
+
+        /** Body of the final response, or null as described for {@link #execute}. */
+        public String get() {
+            if (future == null || future.isCancelled()) {
+                return null;
+            }
+            try {
+                return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                logger.warn("AI call exceeded its {}ms deadline", deadlineMillis);
+                future.cancel(true);
+                exchange.abort();
+                return null;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancel();
+                return null;
+            } catch (CancellationException e) {
+                return null;
+            } catch (ExecutionException e) {
+                logger.error("AI call failed", e.getCause());
+                return null;
+            }
+        }
+    }
+
+    public LlmRateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        logger.info("Closed AI healing executor - circuit {}, rate limiter {}", circuitBreaker, rateLimiter);
+    }
+}
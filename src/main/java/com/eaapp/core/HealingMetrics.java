@@ -0,0 +1,253 @@
+package com.eaapp.core;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+
+/**
+ * Lock-free per-key counters and latency histograms for the element finder's hot paths.
+ * Everything is recorded into the finder-wide instance and, when a test scope is open on
+ * the current thread, into that test's instance as well.
+ */
+public class HealingMetrics {
+
+    public enum Counter {
+        PRIMARY_HIT, HEALED_HIT, VALID_EMPTY, OFFLINE_HEAL, AI_HEAL, COALESCED_HEAL, HEAL_FAILURE
+    }
+
+    public enum Timer {
+        PRIMARY_LOOKUP, ELEMENT_WAIT, PAGE_SOURCE, QUEUE_WAIT, LLM_ROUND_TRIP, CANDIDATE_VERIFICATION
+    }
+
+    public static final String ALL_KEYS = "*";
+
+    private static final ThreadLocal<HealingMetrics> testScope = new ThreadLocal<>();
+
+    private final Map<String, LongAdder[]> counters = new ConcurrentHashMap<>();
+    private final Map<String, LatencyHistogram[]> timers = new ConcurrentHashMap<>();
+
+    /** Opens a per-test recorder on the current thread. */
+    public static void beginTestScope() {
+        testScope.set(new HealingMetrics());
+    }
+
+    /** Closes the current thread's per-test recorder and returns it (empty if none was open). */
+    public static HealingMetrics endTestScope() {
+        HealingMetrics scoped = testScope.get();
+        testScope.remove();
+        return scoped != null ? scoped : new HealingMetrics();
+    }
+
+    public void increment(String elementKey, Counter counter) {
+        incrementLocal(elementKey, counter);
+        HealingMetrics scoped = testScope.get();
+        if (scoped != null && scoped != this) {
+            scoped.incrementLocal(elementKey, counter);
+        }
+    }
+
+    /** The per-test recorder open on the current thread, or null; capture it for work handed to other threads. */
+    public static HealingMetrics currentTestScope() {
+        return testScope.get();
+    }
+
+    public void record(String elementKey, Timer timer, long elapsedNanos) {
+        record(elementKey, timer, elapsedNanos, testScope.get());
+    }
+
+    /** Records into {@code scope} (as captured on the test thread) instead of the current thread's scope. */
+    public void record(String elementKey, Timer timer, long elapsedNanos, HealingMetrics scope) {
+        recordLocal(elementKey, timer, elapsedNanos);
+        if (scope != null && scope != this) {
+            scope.recordLocal(elementKey, timer, elapsedNanos);
+        }
+    }
+
+    private void incrementLocal(String elementKey, Counter counter) {
+        counters.computeIfAbsent(elementKey, k -> newAdders())[counter.ordinal()].increment();
+    }
+
+    private void recordLocal(String elementKey, Timer timer, long elapsedNanos) {
+        timers.computeIfAbsent(elementKey, k -> newHistograms())[timer.ordinal()].record(elapsedNanos);
+        timers.computeIfAbsent(ALL_KEYS, k -> newHistograms())[timer.ordinal()].record(elapsedNanos);
+    }
+
+    public long count(String elementKey, Counter counter) {
+        LongAdder[] adders = counters.get(elementKey);
+        return adders == null ? 0 : adders[counter.ordinal()].sum();
+    }
+
+    public boolean isEmpty() {
+        return counters.isEmpty() && timers.isEmpty();
+    }
+
+    public String toJson() {
+        JsonObject root = new JsonObject();
+        for (String key : keys()) {
+            JsonObject keyJson = new JsonObject();
+            LongAdder[] adders = counters.get(key);
+            if (adders != null) {
+                for (Counter counter : Counter.values()) {
+                    keyJson.addProperty(name(counter), adders[counter.ordinal()].sum());
+                }
+            }
+            LatencyHistogram[] histograms = timers.get(key);
+            if (histograms != null) {
+                for (Timer timer : Timer.values()) {
+                    if (histograms[timer.ordinal()].count() > 0) {
+                        keyJson.add(name(timer), histograms[timer.ordinal()].toJson());
+                    }
+                }
+            }
+            root.add(key, keyJson);
+        }
+        return new GsonBuilder().setPrettyPrinting().create().toJson(root);
+    }
+
+    public String toCsv() {
+        StringBuilder csv = new StringBuilder("key,metric,count,mean_ms,p50_ms,p95_ms,p99_ms,max_ms\n");
+        for (String key : keys()) {
+            LongAdder[] adders = counters.get(key);
+            if (adders != null) {
+                for (Counter counter : Counter.values()) {
+                    csv.append(String.format("%s,%s,%d,,,,,%n", key, name(counter),
+                            adders[counter.ordinal()].sum()));
+                }
+            }
+            LatencyHistogram[] histograms = timers.get(key);
+            if (histograms != null) {
+                for (Timer timer : Timer.values()) {
+                    LatencyHistogram histogram = histograms[timer.ordinal()];
+                    if (histogram.count() > 0) {
+                        csv.append(String.format(Locale.ROOT, "%s,%s,%d,%.3f,%.3f,%.3f,%.3f,%.3f%n", key, name(timer),
+                                histogram.count(), histogram.meanMs(), histogram.percentileMs(50),
+                                histogram.percentileMs(95), histogram.percentileMs(99), histogram.maxMs()));
+                    }
+                }
+            }
+        }
+        return csv.toString();
+    }
+
+    private Set<String> keys() {
+        Set<String> keys = new TreeSet<>(counters.keySet());
+        keys.addAll(timers.keySet());
+        return keys;
+    }
+
+    private static String name(Enum<?> metric) {
+        StringBuilder name = new StringBuilder();
+        for (String part : metric.name().toLowerCase(Locale.ROOT).split("_")) {
+            name.append(name.length() == 0 ? part : Character.toUpperCase(part.charAt(0)) + part.substring(1));
+        }
+        return name.toString();
+    }
+
+    private static LongAdder[] newAdders() {
+        LongAdder[] adders = new LongAdder[Counter.values().length];
+        for (int i = 0; i < adders.length; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    private static LatencyHistogram[] newHistograms() {
+        LatencyHistogram[] histograms = new LatencyHistogram[Timer.values().length];
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new LatencyHistogram();
+        }
+        return histograms;
+    }
+
+    /**
+     * Log-linear histogram over microseconds: four sub-buckets per power of two, so
+     * percentiles are accurate to within about 25%. Recording is a single atomic increment.
+     */
+    static final class LatencyHistogram {
+        private static final int BUCKETS = 1 + 40 * 4;
+
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalMicros = new LongAdder();
+        private final AtomicLong maxMicros = new AtomicLong();
+
+        void record(long elapsedNanos) {
+            long micros = Math.max(0, elapsedNanos / 1000);
+            buckets.incrementAndGet(bucket(micros));
+            count.increment();
+            totalMicros.add(micros);
+            maxMicros.accumulateAndGet(micros, Math::max);
+        }
+
+        long count() {
+            return count.sum();
+        }
+
+        double meanMs() {
+            long n = count.sum();
+            return n == 0 ? 0 : totalMicros.sum() / 1000.0 / n;
+        }
+
+        double maxMs() {
+            return maxMicros.get() / 1000.0;
+        }
+
+        double percentileMs(double percentile) {
+            long n = count.sum();
+            if (n == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(percentile / 100.0 * n);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += buckets.get(i);
+                if (seen >= rank) {
+                    return Math.min(upperBoundMicros(i), maxMicros.get()) / 1000.0;
+                }
+            }
+            return maxMs();
+        }
+
+        JsonObject toJson() {
+            JsonObject json = new JsonObject();
+            json.addProperty("count", count());
+            json.addProperty("meanMs", round(meanMs()));
+            json.addProperty("p50Ms", round(percentileMs(50)));
+            json.addProperty("p95Ms", round(percentileMs(95)));
+            json.addProperty("p99Ms", round(percentileMs(99)));
+            json.addProperty("maxMs", round(maxMs()));
+            return json;
+        }
+
+        private static double round(double value) {
+            return Math.round(value * 1000) / 1000.0;
+        }
+
+        private static int bucket(long micros) {
+            if (micros < 1) {
+                return 0;
+            }
+            int log = 63 - Long.numberOfLeadingZeros(micros);
+            int sub = log >= 2 ? (int) ((micros >> (log - 2)) & 3) : 0;
+            return Math.min(1 + log * 4 + sub, BUCKETS - 1);
+        }
+
+        private static long upperBoundMicros(int bucket) {
+            if (bucket == 0) {
+                return 0;
+            }
+            int log = (bucket - 1) / 4;
+            int sub = (bucket - 1) % 4;
+            long base = 1L << log;
+            return log >= 2 ? base + (sub + 1) * (base / 4) : base * 2 - 1;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.eaapp.core;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+/**
+ * Builds the chat-completions payloads sent to the AI healer and parses the locator
+ * lists that come back.
+ */
+public final class HealingPrompts {
+
+    private static final String SINGLE_SYSTEM_PROMPT =
+            "You are a specialized XPath generator that only outputs raw JSON arrays. " +
+            "Never use markdown formatting, code blocks, or explanatory text. " +
+            "Your response must be a valid JSON array containing exactly 3 XPath strings, nothing else.";
+
+    private static final String BATCH_SYSTEM_PROMPT =
+            "You are a specialized XPath generator that only outputs raw JSON objects. " +
+            "Never use markdown formatting, code blocks, or explanatory text. " +
+            "Your response must be a valid JSON object mapping each element key to a JSON array " +
+            "of exactly 3 XPath strings, nothing else.";
+
+    private HealingPrompts() {
+    }
+
+    public static JsonObject singleLocatorPayload(String model, double temperature, String html,
+            String originalLocator, String description) {
+        String userPrompt = String.format(
+                "Given this HTML snippet from EAApp (http://eaapp.somee.com/):\n%s\n\n" +
+                        "The original XPath locator \"%s\" for element \"%s\" is not working. " +
+                        "Generate EXACTLY 3 alternative XPath locators with these rules:\n" +
+                        "1. Use contains() for partial matching\n" +
+                        "2. Combine multiple attributes when possible\n" +
+                        "3. Anchor on the element's own attributes or text; the snippet omits anonymous " +
+                        "wrapper elements, so do not rely on parent/child steps through them\n" +
+                        "4. Return ONLY a raw JSON array with 3 XPaths without any markdown formatting\n" +
+                        "Example formats for individual XPaths:\n" +
+                        "//a[contains(@href,\"Login\")]\n" +
+                        "//input[@type=\"submit\" and contains(@value,\"Log in\")]\n" +
+                        "//input[contains(@id,\"Salary\") or @name=\"Salary\"]",
+                html, originalLocator, description);
+        return payload(model, temperature, SINGLE_SYSTEM_PROMPT, userPrompt);
+    }
+
+    /**
+     * One prompt for every broken key on a page. {@code brokenLocators} maps element key to
+     * its original XPath, {@code descriptions} maps element key to its description.
+     */
+    public static JsonObject batchLocatorPayload(String model, double temperature, String html,
+            Map<String, String> brokenLocators, Map<String, String> descriptions) {
+        StringBuilder elements = new StringBuilder();
+        for (Map.Entry<String, String> entry : brokenLocators.entrySet()) {
+            elements.append(String.format("- key \"%s\": original XPath \"%s\", element \"%s\"\n",
+                    entry.getKey(), entry.getValue(), descriptions.get(entry.getKey())));
+        }
+        String userPrompt = String.format(
+                "Given this HTML snippet from EAApp (http://eaapp.somee.com/):\n%s\n\n" +
+                        "The following XPath locators are not working:\n%s\n" +
+                        "For EACH key generate EXACTLY 3 alternative XPath locators with these rules:\n" +
+                        "1. Use contains() for partial matching\n" +
+                        "2. Combine multiple attributes when possible\n" +
+                        "3. Anchor on the element's own attributes or text; the snippet omits anonymous " +
+                        "wrapper elements, so do not rely on parent/child steps through them\n" +
+                        "4. Return ONLY a raw JSON object of the form {\"Key\": [\"xpath1\", \"xpath2\", \"xpath3\"]} " +
+                        "without any markdown formatting",
+                html, elements);
+        return payload(model, temperature, BATCH_SYSTEM_PROMPT, userPrompt);
+    }
+
+    private static JsonObject payload(String model, double temperature, String systemPrompt, String userPrompt) {
+        JsonObject payload = new JsonObject();
+        payload.addProperty("model", model);
+        payload.addProperty("temperature", temperature);
+
+        JsonArray messages = new JsonArray();
+        JsonObject systemMessage = new JsonObject();
+        systemMessage.addProperty("role", "system");
+        systemMessage.addProperty("content", systemPrompt);
+        messages.add(systemMessage);
+
+        JsonObject userMessage = new JsonObject();
+        userMessage.addProperty("role", "user");
+        userMessage.addProperty("content", userPrompt);
+        messages.add(userMessage);
+        payload.add("messages", messages);
+        return payload;
+    }
+
+    /**
+     * Returns the assistant message content of a chat-completions response, or throws
+     * {@link IllegalStateException} carrying the API error message.
+     */
+    public static String extractContent(String responseBody) {
+        JsonObject jsonResponse = JsonParser.parseString(responseBody).getAsJsonObject();
+        if (jsonResponse.has("error")) {
+            JsonObject error = jsonResponse.getAsJsonObject("error");
+            throw new IllegalStateException("OpenAI API error: " + error.get("message").getAsString());
+        }
+        return jsonResponse.getAsJsonArray("choices")
+                .get(0).getAsJsonObject()
+                .getAsJsonObject("message")
+                .get("content").getAsString();
+    }
+
+    /**
+     * Asks for the completion as server-sent events, with a final usage chunk so the rate
+     * limiter can still reconcile its token estimate.
+     */
+    public static JsonObject streaming(JsonObject payload) {
+        payload.addProperty("stream", true);
+        JsonObject streamOptions = new JsonObject();
+        streamOptions.addProperty("include_usage", true);
+        payload.add("stream_options", streamOptions);
+        return payload;
+    }
+
+    /**
+     * Content delta of one streamed chat-completions chunk ({@code choices[0].delta.content}),
+     * empty for chunks without content, or throws {@link IllegalStateException} for an error event.
+     */
+    public static String extractDelta(String eventData) {
+        JsonObject chunk = JsonParser.parseString(eventData).getAsJsonObject();
+        if (chunk.has("error")) {
+            throw new IllegalStateException("OpenAI API error: "
+                    + chunk.getAsJsonObject("error").get("message").getAsString());
+        }
+        JsonArray choices = chunk.getAsJsonArray("choices");
+        if (choices == null || choices.size() == 0) {
+            return "";
+        }
+        JsonObject delta = choices.get(0).getAsJsonObject().getAsJsonObject("delta");
+        JsonElement content = delta != null ? delta.get("content") : null;
+        return content != null && !content.isJsonNull() ? content.getAsString() : "";
+    }
+
+    /** {@code usage.total_tokens} of a chat-completions response, or -1 if absent or unparsable. */
+    public static int totalTokens(String responseBody) {
+        try {
+            JsonObject usage = JsonParser.parseString(responseBody).getAsJsonObject().getAsJsonObject("usage");
+            return usage != null && usage.has("total_tokens") ? usage.get("total_tokens").getAsInt() : -1;
+        } catch (RuntimeException e) {
+            return -1;
+        }
+    }
+
+    public static List<String> parseLocatorArray(String content) {
+        List<String> locators = new ArrayList<>();
+        for (JsonElement locator : JsonParser.parseString(stripCodeFence(content)).getAsJsonArray()) {
+            locators.add(locator.getAsString());
+        }
+        return locators;
+    }
+
+    public static Map<String, List<String>> parseLocatorMap(String content) {
+        Map<String, List<String>> locators = new LinkedHashMap<>();
+        JsonObject json = JsonParser.parseString(stripCodeFence(content)).getAsJsonObject();
+        for (Map.Entry<String, JsonElement> entry : json.entrySet()) {
+            List<String> candidates = new ArrayList<>();
+            if (entry.getValue().isJsonArray()) {
+                for (JsonElement locator : entry.getValue().getAsJsonArray()) {
+                    candidates.add(locator.getAsString());
+                }
+            } else {
+                candidates.add(entry.getValue().getAsString());
+            }
+            locators.put(entry.getKey(), candidates);
+        }
+        return locators;
+    }
+
+    // Models occasionally wrap JSON in ```json fences despite the system prompt
+    private static String stripCodeFence(String content) {
+        String trimmed = content.trim();
+        if (trimmed.startsWith("```")) {
+            trimmed = trimmed.replaceFirst("^```[a-zA-Z]*\\s*", "").replaceFirst("\\s*```$", "");
+        }
+        return trimmed;
+    }
+}
@@ -0,0 +1,186 @@
+package com.eaapp.core;
+
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.eaapp.utils.ConfigReader;
+
+/**
+ * Requests-per-minute and tokens-per-minute budgets for LLM calls, as two token buckets.
+ * Callers wait in priority order (heals blocking a test before speculative ones, then
+ * arrival), a 429 pauses every caller until the provider's Retry-After has passed, and the
+ * estimated token cost is corrected with the usage the API reports.
+ */
+public class LlmRateLimiter {
+    private static final Logger logger = LoggerFactory.getLogger(LlmRateLimiter.class);
+
+    public enum Priority {
+        BLOCKING, SPECULATIVE
+    }
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final PriorityQueue<Waiter> waiters = new PriorityQueue<>();
+    private final TokenBucket requestBucket;
+    private final TokenBucket tokenBucket;
+    private final int completionTokens = ConfigReader.getIntProperty("ai.rate.completion.tokens", 300);
+
+    private long sequence;
+    private long pausedUntil = System.nanoTime();
+    private long acquired;
+    private long timedOut;
+    private long totalWaitNanos;
+    private long maxWaitNanos;
+
+    public LlmRateLimiter() {
+        this(ConfigReader.getIntProperty("ai.rate.rpm", 500), ConfigReader.getIntProperty("ai.rate.tpm", 200000));
+    }
+
+    public LlmRateLimiter(int requestsPerMinute, int tokensPerMinute) {
+        this.requestBucket = new TokenBucket(requestsPerMinute);
+        this.tokenBucket = new TokenBucket(tokensPerMinute);
+    }
+
+    /** Prompt tokens at roughly four characters each, plus the reserved completion budget. */
+    public int estimateTokens(String requestBody) {
+        return (requestBody.length() + 3) / 4 + completionTokens;
+    }
+
+    /**
+     * Waits until one request and {@code tokens} tokens are available and it is this caller's
+     * turn. Returns the nanoseconds waited, or -1 if the deadline ({@link System#nanoTime()}
+     * based) passed first.
+     */
+    public long acquire(int tokens, Priority priority, long deadlineNanos) throws InterruptedException {
+        long start = System.nanoTime();
+        lock.lock();
+        try {
+            Waiter waiter = new Waiter(priority, sequence++);
+            waiters.add(waiter);
+            try {
+                while (true) {
+                    long now = System.nanoTime();
+                    long waitNanos;
+                    if (waiters.peek() != waiter) {
+                        waitNanos = Long.MAX_VALUE;
+                    } else if (now < pausedUntil) {
+                        waitNanos = pausedUntil - now;
+                    } else {
+                        waitNanos = Math.max(requestBucket.nanosUntil(1, now), tokenBucket.nanosUntil(tokens, now));
+                        if (waitNanos == 0) {
+                            requestBucket.take(1);
+                            tokenBucket.take(tokens);
+                            long waited = System.nanoTime() - start;
+                            acquired++;
+                            totalWaitNanos += waited;
+                            maxWaitNanos = Math.max(maxWaitNanos, waited);
+                            return waited;
+                        }
+                    }
+                    long remaining = deadlineNanos - now;
+                    if (remaining <= 0) {
+                        timedOut++;
+                        return -1;
+                    }
+                    changed.awaitNanos(Math.min(waitNanos, remaining));
+                }
+            } finally {
+                waiters.remove(waiter);
+                changed.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Holds back every caller after a 429, for Retry-After if given, otherwise one second. */
+    public void onRateLimited(long retryAfterMillis) {
+        lock.lock();
+        try {
+            long pauseNanos = TimeUnit.MILLISECONDS.toNanos(retryAfterMillis > 0 ? retryAfterMillis : 1000);
+            pausedUntil = Math.max(pausedUntil, System.nanoTime() + pauseNanos);
+            logger.warn("LLM rate limit hit, pausing calls for {}ms ({} waiting)",
+                    TimeUnit.NANOSECONDS.toMillis(pauseNanos), waiters.size());
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Returns over-estimated tokens to the budget, or charges the shortfall. */
+    public void reconcile(int estimatedTokens, int actualTokens) {
+        if (actualTokens < 0) {
+            return;
+        }
+        lock.lock();
+        try {
+            tokenBucket.refund(estimatedTokens - actualTokens);
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public String toString() {
+        lock.lock();
+        try {
+            return String.format("acquired=%d, timedOut=%d, waiting=%d, meanWait=%.1fms, maxWait=%.1fms",
+                    acquired, timedOut, waiters.size(),
+                    acquired == 0 ? 0 : totalWaitNanos / 1e6 / acquired, maxWaitNanos / 1e6);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static final class Waiter implements Comparable<Waiter> {
+        private final Priority priority;
+        private final long sequence;
+
+        Waiter(Priority priority, long sequence) {
+            this.priority = priority;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(Waiter other) {
+            int byPriority = priority.compareTo(other.priority);
+            return byPriority != 0 ? byPriority : Long.compare(sequence, other.sequence);
+        }
+    }
+
+    /** Starts full and refills continuously at capacity per minute. Guarded by the limiter's lock. */
+    private static final class TokenBucket {
+        private final double capacity;
+        private final double perNano;
+        private double available;
+        private long refilledAt = System.nanoTime();
+
+        TokenBucket(int perMinute) {
+            this.capacity = Math.max(1, perMinute);
+            this.perNano = capacity / TimeUnit.MINUTES.toNanos(1);
+            this.available = capacity;
+        }
+
+        long nanosUntil(double amount, long now) {
+            available = Math.min(capacity, available + (now - refilledAt) * perNano);
+            refilledAt = now;
+            // A request larger than the whole budget waits for a full bucket instead of forever
+            double needed = Math.min(amount, capacity);
+            return available >= needed ? 0 : (long) Math.ceil((needed - available) / perNano);
+        }
+
+        void take(double amount) {
+            available -= Math.min(amount, capacity);
+        }
+
+        void refund(double amount) {
+            available = Math.min(capacity, available + amount);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.eaapp.core;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.eaapp.utils.ConfigReader;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+/**
+ * Content-addressed on-disk cache of raw LLM candidate lists, keyed by a hash of the
+ * prompt inputs. Entries expire after a TTL and the least recently used ones are evicted
+ * once the cache holds more than the configured number of entries. Writes are atomic so
+ * several CI workers can share one cache directory.
+ */
+public class LlmResponseCache {
+    private static final Logger logger = LoggerFactory.getLogger(LlmResponseCache.class);
+    private static final String ENTRY_SUFFIX = ".json";
+
+    private final boolean enabled;
+    private final Path directory;
+    private final long ttlMillis;
+    private final int maxEntries;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public LlmResponseCache() {
+        this(Boolean.parseBoolean(ConfigReader.getProperty("ai.cache.enabled", "true")),
+                Paths.get(ConfigReader.getProperty("ai.cache.dir", "target/ai-cache")),
+                TimeUnit.HOURS.toMillis(ConfigReader.getLongProperty("ai.cache.ttl.hours", 168)),
+                ConfigReader.getIntProperty("ai.cache.max.entries", 500));
+    }
+
+    LlmResponseCache(boolean enabled, Path directory, long ttlMillis, int maxEntries) {
+        this.enabled = enabled;
+        this.directory = directory;
+        this.ttlMillis = ttlMillis;
+        this.maxEntries = maxEntries;
+    }
+
+    /** SHA-256 over the prompt inputs, e.g. (model, reduced DOM, original locator, description). */
+    public static String key(String... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String part : parts) {
+                digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            StringBuilder hex = new StringBuilder();
+            for (byte b : digest.digest()) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /** Returns the cached raw candidate content, or null on a miss or expired entry. */
+    public String get(String key) {
+        if (!enabled) {
+            return null;
+        }
+        Path entry = directory.resolve(key + ENTRY_SUFFIX);
+        try {
+            if (!Files.exists(entry)) {
+                misses.incrementAndGet();
+                return null;
+            }
+            JsonObject json = JsonParser.parseString(
+                    new String(Files.readAllBytes(entry), StandardCharsets.UTF_8)).getAsJsonObject();
+            if (System.currentTimeMillis() - json.get("createdAt").getAsLong() > ttlMillis) {
+                Files.deleteIfExists(entry);
+                misses.incrementAndGet();
+                logger.debug("Expired LLM cache entry {}", key);
+                return null;
+            }
+            // Last-modified time doubles as the LRU access time
+            Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+            hits.incrementAndGet();
+            logger.info("LLM cache hit {} ({})", key.substring(0, 12), getStats());
+            return json.get("content").getAsString();
+        } catch (Exception e) {
+            misses.incrementAndGet();
+            logger.warn("Could not read LLM cache entry {}: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    public void put(String key, String content) {
+        if (!enabled) {
+            return;
+        }
+        JsonObject json = new JsonObject();
+        json.addProperty("createdAt", System.currentTimeMillis());
+        json.addProperty("content", content);
+        try {
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, key, ".tmp");
+            Files.write(temp, json.toString().getBytes(StandardCharsets.UTF_8));
+            Files.move(temp, directory.resolve(key + ENTRY_SUFFIX),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            evictLeastRecentlyUsed();
+        } catch (IOException e) {
+            logger.warn("Could not write LLM cache entry {}: {}", key, e.getMessage());
+        }
+    }
+
+    // Drops an entry whose candidates no longer verify so the next run asks the LLM again
+    public void invalidate(String key) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(directory.resolve(key + ENTRY_SUFFIX));
+        } catch (IOException e) {
+            logger.warn("Could not delete LLM cache entry {}: {}", key, e.getMessage());
+        }
+    }
+
+    private void evictLeastRecentlyUsed() throws IOException {
+        List<Path> entries = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + ENTRY_SUFFIX)) {
+            for (Path entry : stream) {
+                entries.add(entry);
+            }
+        }
+        if (entries.size() <= maxEntries) {
+            return;
+        }
+        entries.sort(Comparator.comparingLong(LlmResponseCache::lastModified));
+        for (Path entry : entries.subList(0, entries.size() - maxEntries)) {
+            Files.deleteIfExists(entry);
+            logger.debug("Evicted LLM cache entry {}", entry.getFileName());
+        }
+    }
+
+    private static long lastModified(Path entry) {
+        try {
+            return Files.getLastModifiedTime(entry).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public String getStats() {
+        return String.format("hits=%d, misses=%d", hits.get(), misses.get());
+    }
+}
@@ -0,0 +1,112 @@
+package com.eaapp.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Every locator of one {@link com.eaapp.locators.EAAppLocators#PAGES} group, resolved in a
+ * single script call by {@link EAAppElementFinder#resolvePage}. Handles belong to the page as
+ * it was when resolved and go stale once it navigates, so resolve again after that. A key that
+ * did not resolve is healed when it is first asked for, together with the page's other missing
+ * keys. Not thread-safe; each test thread resolves its own pages.
+ */
+public final class PageElements {
+    private final EAAppElementFinder finder;
+    private final WebDriver driver;
+    private final String page;
+    // key -> element, null for keys that did not resolve
+    private final Map<String, WebElement> elements = new LinkedHashMap<>();
+    private final Set<String> visible = new HashSet<>();
+    private boolean groupHealAttempted;
+
+    PageElements(EAAppElementFinder finder, WebDriver driver, String page, List<String> keys) {
+        this.finder = finder;
+        this.driver = driver;
+        this.page = page;
+        for (String key : keys) {
+            elements.put(key, null);
+        }
+    }
+
+    /** The key's element, healing it (with the page's other missing keys) if it did not resolve. */
+    public WebElement get(String elementKey) {
+        WebElement element = elements.get(requireKey(elementKey));
+        if (element != null) {
+            finder.recordFingerprint(driver, elementKey, element);
+            return element;
+        }
+        return finder.healPageElement(driver, this, elementKey);
+    }
+
+    /** Whether the key resolved, without healing it. */
+    public boolean isPresent(String elementKey) {
+        return elements.get(requireKey(elementKey)) != null;
+    }
+
+    /** Whether the key resolved to an element that is rendered and not hidden. */
+    public boolean isVisible(String elementKey) {
+        return visible.contains(requireKey(elementKey));
+    }
+
+    /** Keys of the page that have not resolved so far. */
+    public List<String> getMissingKeys() {
+        List<String> missing = new ArrayList<>();
+        for (Map.Entry<String, WebElement> entry : elements.entrySet()) {
+            if (entry.getValue() == null) {
+                missing.add(entry.getKey());
+            }
+        }
+        return missing;
+    }
+
+    public Set<String> getKeys() {
+        return Collections.unmodifiableSet(elements.keySet());
+    }
+
+    public String getPage() {
+        return page;
+    }
+
+    void put(String elementKey, WebElement element, boolean isVisible) {
+        elements.put(elementKey, element);
+        if (isVisible) {
+            visible.add(elementKey);
+        } else {
+            visible.remove(elementKey);
+        }
+    }
+
+    WebElement element(String elementKey) {
+        return elements.get(elementKey);
+    }
+
+    // The missing keys are handed to healing as a group once; later misses heal one key at a time
+    boolean beginGroupHeal() {
+        if (groupHealAttempted) {
+            return false;
+        }
+        groupHealAttempted = true;
+        return true;
+    }
+
+    private String requireKey(String elementKey) {
+        if (!elements.containsKey(elementKey)) {
+            throw new IllegalArgumentException("Key '" + elementKey + "' is not on page '" + page + "'");
+        }
+        return elementKey;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d resolved, %d visible, missing %s", page,
+                elements.size() - getMissingKeys().size(), visible.size(), getMissingKeys());
+    }
+}
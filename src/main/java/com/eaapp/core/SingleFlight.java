@@ -0,0 +1,66 @@
+package com.eaapp.core;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls for the same key: the first caller (the leader) runs the work,
+ * callers arriving while it is in flight wait for and share its outcome, including a thrown
+ * exception. Nothing is cached once the call completes.
+ */
+public final class SingleFlight<K, V> {
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    public Call<V> execute(K key, Supplier<V> work) {
+        CompletableFuture<V> own = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, own);
+        if (existing != null) {
+            return new Call<>(existing, false);
+        }
+        try {
+            own.complete(work.get());
+        } catch (RuntimeException | Error e) {
+            own.completeExceptionally(e);
+        } finally {
+            inFlight.remove(key, own);
+        }
+        return new Call<>(own, true);
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    /** One caller's view of a coalesced call. */
+    public static final class Call<V> {
+        private final CompletableFuture<V> future;
+        private final boolean leader;
+
+        Call(CompletableFuture<V> future, boolean leader) {
+            this.future = future;
+            this.leader = leader;
+        }
+
+        /** True for the caller that ran the work, false for callers that waited on it. */
+        public boolean isLeader() {
+            return leader;
+        }
+
+        /** Waits for the leader's result, rethrowing the exception it failed with. */
+        public V get() {
+            try {
+                return future.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                if (e.getCause() instanceof Error) {
+                    throw (Error) e.getCause();
+                }
+                throw e;
+            }
+        }
+    }
+}
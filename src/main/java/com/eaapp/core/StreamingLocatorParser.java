@@ -0,0 +1,66 @@
+package com.eaapp.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.google.gson.JsonParser;
+
+/**
+ * Incremental parser for the JSON array of XPaths a streamed completion produces. Content
+ * deltas are fed as they arrive and every string element is returned as soon as its closing
+ * quote has been seen, so candidates can be verified before the completion finishes.
+ * Anything before the opening bracket, such as a code fence, is skipped.
+ */
+public final class StreamingLocatorParser {
+    private final StringBuilder current = new StringBuilder();
+    private boolean started;
+    private boolean finished;
+    private boolean inString;
+    private boolean escaped;
+    private int count;
+
+    /** Feeds the next content delta and returns the elements it completed, in order. */
+    public List<String> feed(String delta) {
+        if (finished || delta == null || delta.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> completed = new ArrayList<>();
+        for (int i = 0; i < delta.length() && !finished; i++) {
+            char c = delta.charAt(i);
+            if (!started) {
+                started = c == '[';
+            } else if (inString) {
+                if (escaped) {
+                    escaped = false;
+                    current.append(c);
+                } else if (c == '\\') {
+                    escaped = true;
+                    current.append(c);
+                } else if (c == '"') {
+                    inString = false;
+                    // Let Gson decode the escapes exactly as the full-body parser would
+                    completed.add(JsonParser.parseString("\"" + current + "\"").getAsString());
+                    current.setLength(0);
+                    count++;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                inString = true;
+            } else if (c == ']') {
+                finished = true;
+            }
+        }
+        return completed;
+    }
+
+    /** Whether the closing bracket of the array has been seen. */
+    public boolean isFinished() {
+        return finished;
+    }
+
+    public int getCount() {
+        return count;
+    }
+}
@@ -0,0 +1,55 @@
+package com.eaapp.core;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Filter applied in the browser by {@link EAAppElementFinder#findTexts}, so that only the
+ * elements whose trimmed text passes it are sent back.
+ */
+public final class TextMatch {
+    private static final TextMatch ANY = new TextMatch(null, null);
+
+    private final String mode;
+    private final String value;
+
+    private TextMatch(String mode, String value) {
+        this.mode = mode;
+        this.value = value;
+    }
+
+    /** Every element. */
+    public static TextMatch any() {
+        return ANY;
+    }
+
+    /** Elements whose trimmed text equals {@code text}. */
+    public static TextMatch equalTo(String text) {
+        return new TextMatch("equals", text.trim());
+    }
+
+    /** Elements whose text contains {@code text}. */
+    public static TextMatch containing(String text) {
+        return new TextMatch("contains", text);
+    }
+
+    // Same test as the script applies, for drivers that cannot run scripts
+    boolean test(String text) {
+        if (mode == null) {
+            return true;
+        }
+        return "equals".equals(mode) ? text.equals(value) : text.contains(value);
+    }
+
+    Map<String, Object> toScriptArgument() {
+        Map<String, Object> argument = new HashMap<>();
+        argument.put("mode", mode);
+        argument.put("value", value);
+        return argument;
+    }
+
+    @Override
+    public String toString() {
+        return mode == null ? "any" : mode + " '" + value + "'";
+    }
+}
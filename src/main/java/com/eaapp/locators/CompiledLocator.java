@@ -0,0 +1,130 @@
+package com.eaapp.locators;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+
+import org.openqa.selenium.By;
+
+/**
+ * An XPath that has been syntax-checked once, together with its prebuilt {@link By} and,
+ * for simple single-step XPaths such as {@code //input[@id='Name']}, an equivalent and
+ * faster CSS selector.
+ */
+public final class CompiledLocator {
+
+    // //tag[@attr='value'] or //tag[@attr="value"], with no quotes or backslashes in the value
+    private static final Pattern SIMPLE_ATTRIBUTE_XPATH = Pattern.compile(
+            "^//([a-zA-Z][\\w-]*|\\*)\\[\\s*@([a-zA-Z][\\w-]*)\\s*=\\s*(?:'([^'\"\\\\]*)'|\"([^'\"\\\\]*)\")\\s*\\]$");
+    private static final Pattern CSS_IDENTIFIER = Pattern.compile("^[a-zA-Z_][\\w-]*$");
+    private static final String POSITION_PREDICATE =
+            "\\[\\s*(?:\\d+|last\\(\\)|position\\(\\)\\s*[<>=!]+\\s*\\d+)\\s*\\]";
+    // A last step that selects by position only, e.g. td[1] or tr[position() > 1]. A bare tag is
+    // only taken for the repeated children of lists and tables (tr, li, option): any other bare
+    // step, such as div, is as likely to be a broken locator as an empty list.
+    private static final Pattern POSITIONAL_STEP = Pattern.compile(
+            "^(?:(?:tr|li|option)(?:" + POSITION_PREDICATE + ")*"
+                    + "|(?:[a-zA-Z][\\w-]*|\\*)(?:" + POSITION_PREDICATE + ")+)$");
+
+    private final String xpath;
+    private final String css;
+    private final By by;
+    private final String error;
+
+    private CompiledLocator(String xpath, String css, String error) {
+        this.xpath = xpath;
+        this.css = css;
+        this.error = error;
+        this.by = error != null ? null : css != null ? By.cssSelector(css) : By.xpath(xpath);
+    }
+
+    /** Compiles the XPath offline; invalid syntax is recorded rather than thrown. */
+    public static CompiledLocator compile(String xpath) {
+        try {
+            XPathFactory.newInstance().newXPath().compile(xpath);
+        } catch (XPathExpressionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            return new CompiledLocator(xpath, null, String.valueOf(cause.getMessage()));
+        }
+        return new CompiledLocator(xpath, cssEquivalent(xpath), null);
+    }
+
+    /** CSS selector equivalent to a simple id/attribute-equals XPath, or null. */
+    public static String cssEquivalent(String xpath) {
+        Matcher matcher = SIMPLE_ATTRIBUTE_XPATH.matcher(xpath.trim());
+        if (!matcher.matches()) {
+            return null;
+        }
+        String tag = "*".equals(matcher.group(1)) ? "" : matcher.group(1);
+        String attribute = matcher.group(2);
+        String value = matcher.group(3) != null ? matcher.group(3) : matcher.group(4);
+        if ("id".equals(attribute) && CSS_IDENTIFIER.matcher(value).matches()) {
+            return tag + "#" + value;
+        }
+        return tag + "[" + attribute + "='" + value + "']";
+    }
+
+    /**
+     * The XPath without its last step when that step selects by position only, as in
+     * {@code //table//tbody/tr[position() > 1]} -> {@code //table//tbody}; otherwise null. Such a
+     * container still resolving means the step matched nothing because there is nothing, not
+     * because the locator broke. Last steps that test attributes or text get no parent: an
+     * empty match there is as likely to be a broken locator. A step without a position
+     * predicate only counts for tr, li and option.
+     */
+    public static String positionalParent(String xpath) {
+        int depth = 0;
+        char quote = 0;
+        int lastSlash = -1;
+        for (int i = 0; i < xpath.length(); i++) {
+            char c = xpath.charAt(i);
+            if (quote != 0) {
+                quote = c == quote ? 0 : quote;
+            } else if (c == '\'' || c == '"') {
+                quote = c;
+            } else if (c == '[' || c == '(') {
+                depth++;
+            } else if (c == ']' || c == ')') {
+                depth--;
+            } else if (c == '/' && depth == 0) {
+                lastSlash = i;
+            }
+        }
+        if (lastSlash < 0 || !POSITIONAL_STEP.matcher(xpath.substring(lastSlash + 1).trim()).matches()) {
+            return null;
+        }
+        String parent = xpath.substring(0, lastSlash);
+        while (parent.endsWith("/")) {
+            parent = parent.substring(0, parent.length() - 1);
+        }
+        return parent.isEmpty() ? null : parent;
+    }
+
+    public boolean isValid() {
+        return error == null;
+    }
+
+    public String getXpath() {
+        return xpath;
+    }
+
+    /** Equivalent CSS selector, or null when the XPath has no simple CSS form. */
+    public String getCss() {
+        return css;
+    }
+
+    public By getBy() {
+        return by;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    @Override
+    public String toString() {
+        return css != null ? xpath + " (css: " + css + ")" : xpath;
+    }
+}
@@ -1,11 +1,19 @@
 package com.eaapp.locators;
 
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 public class EAAppLocators {
  public static final Map<String, String> LOCATORS = new HashMap<>();
  public static final Map<String, String> DESCRIPTIONS = new HashMap<>();
+ // Containers whose presence means an empty match for the key is a valid state (e.g. a search
+ // with results shows no "No match" message), for keys whose locator has no positional parent
+ public static final Map<String, String> ANCHORS = new HashMap<>();
+ // Keys grouped by the page they appear on; a key may belong to more than one page
+ public static final Map<String, List<String>> PAGES = new LinkedHashMap<>();
  
  static {
      // Login Page
@@ -62,6 +70,7 @@ public class EAAppLocators {
      
      LOCATORS.put("NoResultMessage", "//div[contains(text(),'No match')]");
      DESCRIPTIONS.put("NoResultMessage", "No search results message");
+     ANCHORS.put("NoResultMessage", "//input[@id='SearchString']");
      
      // Employee Details and Actions
      LOCATORS.put("BenefitsLink", "//a[contains(text(),'Benefits')]");
@@ -104,5 +113,16 @@ public class EAAppLocators {
      
      LOCATORS.put("DeleteEmployeeDetails", "//dl[@class='dl-horizontal']");
      DESCRIPTIONS.put("DeleteEmployeeDetails", "Employee details on delete confirmation page");
+     
+     // Page groups
+     PAGES.put("Header", Arrays.asList("LoginLink", "LogoutButton", "EmployeeListLink"));
+     PAGES.put("Login", Arrays.asList("UserName", "Password", "LoginButton"));
+     PAGES.put("EmployeeList", Arrays.asList("CreateNewLink", "SearchBox", "SearchButton", "EmployeeTable",
+             "EmployeeTableRows", "EmployeeTableDataRows", "NoResultMessage", "BenefitsLink", "EditLink", "DeleteLink"));
+     PAGES.put("CreateEmployee", Arrays.asList("Name", "Salary", "DurationWorked", "Grade", "Email", "CreateButton"));
+     PAGES.put("EditEmployee", Arrays.asList("EditPageHeader", "Name", "Salary", "DurationWorked", "Grade", "Email",
+             "SaveButton", "BackToListLink"));
+     PAGES.put("Benefits", Arrays.asList("BenefitsPageHeader"));
+     PAGES.put("DeleteEmployee", Arrays.asList("DeletePageHeader", "DeleteEmployeeDetails", "DeleteConfirmButton"));
  }
 }
\ No newline at end of file
@@ -0,0 +1,165 @@
+package com.eaapp.locators;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.eaapp.utils.ConfigReader;
+
+/**
+ * Immutable view of {@link EAAppLocators} built once at startup. Every entry is compiled
+ * up front, so lookups are O(1) map reads with no per-call parsing, malformed XPaths are
+ * reported before any test runs, and entries are grouped by page.
+ */
+public final class LocatorRegistry {
+    private static final Logger logger = LoggerFactory.getLogger(LocatorRegistry.class);
+    private static final LocatorRegistry INSTANCE = new LocatorRegistry();
+
+    private final Map<String, Entry> entries;
+    private final Map<String, List<Entry>> pages;
+    private final Map<String, List<String>> pagesByKey;
+
+    private LocatorRegistry() {
+        Map<String, Entry> compiled = new LinkedHashMap<>();
+        List<String> invalid = new ArrayList<>();
+        for (Map.Entry<String, String> locator : EAAppLocators.LOCATORS.entrySet()) {
+            String key = locator.getKey();
+            Entry entry = new Entry(key, CompiledLocator.compile(locator.getValue()),
+                    EAAppLocators.DESCRIPTIONS.get(key), anchor(key, locator.getValue()),
+                    EAAppLocators.ANCHORS.containsKey(key));
+            if (!entry.getLocator().isValid()) {
+                invalid.add(key);
+                logger.error("Rejected malformed locator {}: {} ({})", key, locator.getValue(),
+                        entry.getLocator().getError());
+            }
+            compiled.put(key, entry);
+        }
+        if (!invalid.isEmpty() && Boolean.parseBoolean(ConfigReader.getProperty("locators.validation.strict", "false"))) {
+            throw new IllegalStateException("Malformed locators in EAAppLocators: " + invalid);
+        }
+
+        Map<String, List<Entry>> grouped = new LinkedHashMap<>();
+        Map<String, List<String>> byKey = new LinkedHashMap<>();
+        for (Map.Entry<String, List<String>> page : EAAppLocators.PAGES.entrySet()) {
+            List<Entry> pageEntries = new ArrayList<>();
+            for (String key : page.getValue()) {
+                Entry entry = compiled.get(key);
+                if (entry == null) {
+                    throw new IllegalStateException("Page " + page.getKey() + " lists unknown locator key " + key);
+                }
+                pageEntries.add(entry);
+                byKey.computeIfAbsent(key, k -> new ArrayList<>()).add(page.getKey());
+            }
+            grouped.put(page.getKey(), Collections.unmodifiableList(pageEntries));
+        }
+        for (Map.Entry<String, List<String>> keyPages : byKey.entrySet()) {
+            keyPages.setValue(Collections.unmodifiableList(keyPages.getValue()));
+        }
+
+        this.entries = Collections.unmodifiableMap(compiled);
+        this.pages = Collections.unmodifiableMap(grouped);
+        this.pagesByKey = Collections.unmodifiableMap(byKey);
+        logger.info("Compiled {} locators across {} pages ({} rejected)", entries.size(), pages.size(), invalid.size());
+    }
+
+    // Declared anchor, else the locator's positional parent; null when neither compiles
+    private static CompiledLocator anchor(String key, String xpath) {
+        String anchor = EAAppLocators.ANCHORS.getOrDefault(key, CompiledLocator.positionalParent(xpath));
+        if (anchor == null) {
+            return null;
+        }
+        CompiledLocator compiled = CompiledLocator.compile(anchor);
+        if (!compiled.isValid()) {
+            logger.error("Ignoring malformed anchor for {}: {} ({})", key, anchor, compiled.getError());
+            return null;
+        }
+        return compiled;
+    }
+
+    public static LocatorRegistry get() {
+        return INSTANCE;
+    }
+
+    /** Returns the entry for a key, or throws {@link IllegalArgumentException} for an unknown key. */
+    public Entry entry(String elementKey) {
+        Entry entry = entries.get(elementKey);
+        if (entry == null) {
+            throw new IllegalArgumentException("No locator found for key: " + elementKey);
+        }
+        return entry;
+    }
+
+    public Collection<Entry> entries() {
+        return entries.values();
+    }
+
+    public List<Entry> page(String pageName) {
+        List<Entry> page = pages.get(pageName);
+        if (page == null) {
+            throw new IllegalArgumentException("No page registered with name: " + pageName);
+        }
+        return page;
+    }
+
+    /** Names of the pages a key is registered on. */
+    public List<String> pagesOf(String elementKey) {
+        return pagesByKey.getOrDefault(elementKey, Collections.<String>emptyList());
+    }
+
+    /** A registered locator: key, compiled XPath, description and optional anchor. */
+    public static final class Entry {
+        private final String key;
+        private final CompiledLocator locator;
+        private final String description;
+        private final CompiledLocator anchor;
+        private final boolean anchorDeclared;
+
+        Entry(String key, CompiledLocator locator, String description, CompiledLocator anchor,
+                boolean anchorDeclared) {
+            this.key = key;
+            this.locator = locator;
+            this.description = description;
+            this.anchor = anchor;
+            this.anchorDeclared = anchorDeclared && anchor != null;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public CompiledLocator getLocator() {
+            return locator;
+        }
+
+        public String getXpath() {
+            return locator.getXpath();
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public boolean isValid() {
+            return locator.isValid();
+        }
+
+        /** Container that still resolves when the key legitimately matches nothing, or null. */
+        public CompiledLocator getAnchor() {
+            return anchor;
+        }
+
+        /**
+         * Whether the anchor comes from {@code EAAppLocators.ANCHORS} rather than being the
+         * locator's positional parent.
+         */
+        public boolean isAnchorDeclared() {
+            return anchorDeclared;
+        }
+    }
+}
@@ -45,6 +45,32 @@ public class ConfigReader {
         return Integer.parseInt(properties.getProperty(key));
     }
 
+    public static int getIntProperty(String key, int defaultValue) {
+        String value = properties.getProperty(key);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid integer for {}: {}, using default {}", key, value, defaultValue);
+            return defaultValue;
+        }
+    }
+
+    public static long getLongProperty(String key, long defaultValue) {
+        String value = properties.getProperty(key);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid long for {}: {}, using default {}", key, value, defaultValue);
+            return defaultValue;
+        }
+    }
+
     public static boolean getBooleanProperty(String key) {
         return Boolean.parseBoolean(properties.getProperty(key));
     }
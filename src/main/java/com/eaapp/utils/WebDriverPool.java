@@ -0,0 +1,102 @@
+package com.eaapp.utils;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded pool of reusable browser sessions. A worker thread borrows one session for the
+ * duration of a test and returns it afterwards; returned sessions are reset (cookies
+ * cleared, blank page) and handed to the next borrower instead of launching a new browser.
+ */
+public class WebDriverPool {
+    private static final Logger logger = LoggerFactory.getLogger(WebDriverPool.class);
+
+    private final Supplier<WebDriver> factory;
+    private final Semaphore permits;
+    private final int maxSize;
+    private final long acquireTimeoutSeconds;
+    private final ConcurrentLinkedDeque<WebDriver> idle = new ConcurrentLinkedDeque<>();
+    private final List<WebDriver> all = new CopyOnWriteArrayList<>();
+
+    public WebDriverPool(Supplier<WebDriver> factory, int maxSize, long acquireTimeoutSeconds) {
+        this.factory = factory;
+        this.maxSize = maxSize;
+        this.acquireTimeoutSeconds = acquireTimeoutSeconds;
+        this.permits = new Semaphore(maxSize, true);
+    }
+
+    /** Borrows an idle session, creating one if the pool has not reached its bound yet. */
+    public WebDriver acquire() {
+        try {
+            if (!permits.tryAcquire(acquireTimeoutSeconds, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("No WebDriver available within " + acquireTimeoutSeconds
+                        + "s (pool size " + maxSize + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a WebDriver", e);
+        }
+
+        WebDriver driver = idle.pollFirst();
+        if (driver != null) {
+            logger.debug("Reusing pooled WebDriver on {}", Thread.currentThread().getName());
+            return driver;
+        }
+        try {
+            driver = factory.get();
+            all.add(driver);
+            logger.info("Started WebDriver {}/{} on {}", all.size(), maxSize, Thread.currentThread().getName());
+            return driver;
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /** Returns a session to the pool; sessions that cannot be reset are quit and discarded. */
+    public void release(WebDriver driver) {
+        if (driver == null) {
+            return;
+        }
+        try {
+            driver.manage().deleteAllCookies();
+            driver.get("about:blank");
+            idle.offerFirst(driver);
+        } catch (Exception e) {
+            logger.warn("Discarding WebDriver that could not be reset: {}", e.getMessage());
+            all.remove(driver);
+            quietlyQuit(driver);
+        } finally {
+            permits.release();
+        }
+    }
+
+    public void shutdown() {
+        for (WebDriver driver : all) {
+            quietlyQuit(driver);
+        }
+        logger.info("Closed {} pooled WebDriver sessions", all.size());
+        all.clear();
+        idle.clear();
+    }
+
+    public int getCreatedCount() {
+        return all.size();
+    }
+
+    private static void quietlyQuit(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (Exception e) {
+            logger.debug("Error quitting WebDriver", e);
+        }
+    }
+}
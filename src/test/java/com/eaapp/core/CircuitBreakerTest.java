@@ -0,0 +1,99 @@
+package com.eaapp.core;
+
+import static org.testng.Assert.*;
+
+import org.testng.annotations.Test;
+
+public class CircuitBreakerTest {
+
+    private static void fail(CircuitBreaker breaker, int times) {
+        for (int i = 0; i < times; i++) {
+            assertTrue(breaker.tryAcquire());
+            breaker.onFailure();
+        }
+    }
+
+    private static void succeed(CircuitBreaker breaker, int times) {
+        for (int i = 0; i < times; i++) {
+            assertTrue(breaker.tryAcquire());
+            breaker.onSuccess();
+        }
+    }
+
+    @Test
+    public void staysClosedBelowTheMinimumNumberOfCalls() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 10, 5, 0.5, 60_000);
+        fail(breaker, 4);
+        assertEquals(breaker.getState(), CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    public void opensAtTheFailureRateAndRejectsWhileOpen() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 10, 4, 0.5, 60_000);
+        succeed(breaker, 2);
+        fail(breaker, 1);
+        assertEquals(breaker.getState(), CircuitBreaker.State.CLOSED);
+        fail(breaker, 1);
+        assertEquals(breaker.getState(), CircuitBreaker.State.OPEN);
+
+        assertFalse(breaker.tryAcquire());
+        assertFalse(breaker.tryAcquire());
+        assertEquals(breaker.getRejected(), 2);
+    }
+
+    @Test
+    public void failuresSlideOutOfTheWindow() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 4, 4, 0.75, 60_000);
+        fail(breaker, 2);
+        succeed(breaker, 2);
+        // The two failures are pushed out: 1 of the last 4 failed
+        succeed(breaker, 2);
+        fail(breaker, 1);
+        assertEquals(breaker.getState(), CircuitBreaker.State.CLOSED);
+        fail(breaker, 2);
+        assertEquals(breaker.getState(), CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    public void halfOpenLetsOneTrialThroughAndClosesOnSuccess() throws InterruptedException {
+        CircuitBreaker breaker = new CircuitBreaker("test", 2, 1, 0.5, 50);
+        fail(breaker, 1);
+        assertEquals(breaker.getState(), CircuitBreaker.State.OPEN);
+        Thread.sleep(80);
+
+        assertTrue(breaker.tryAcquire());
+        assertEquals(breaker.getState(), CircuitBreaker.State.HALF_OPEN);
+        assertFalse(breaker.tryAcquire(), "only one trial call at a time");
+        breaker.onSuccess();
+
+        assertEquals(breaker.getState(), CircuitBreaker.State.CLOSED);
+        assertTrue(breaker.tryAcquire());
+        breaker.onSuccess();
+    }
+
+    @Test
+    public void failedTrialReopensForAnotherFullPeriod() throws InterruptedException {
+        CircuitBreaker breaker = new CircuitBreaker("test", 2, 1, 0.5, 50);
+        fail(breaker, 1);
+        Thread.sleep(80);
+        assertTrue(breaker.tryAcquire());
+        breaker.onFailure();
+
+        assertEquals(breaker.getState(), CircuitBreaker.State.OPEN);
+        assertFalse(breaker.tryAcquire());
+        Thread.sleep(80);
+        assertTrue(breaker.tryAcquire(), "the next period allows a new trial");
+    }
+
+    @Test
+    public void closingStartsFromAnEmptyWindow() throws InterruptedException {
+        CircuitBreaker breaker = new CircuitBreaker("test", 4, 2, 0.5, 50);
+        fail(breaker, 2);
+        Thread.sleep(80);
+        succeed(breaker, 1);
+        assertEquals(breaker.getState(), CircuitBreaker.State.CLOSED);
+        // One failure after closing is below the minimum of two calls
+        fail(breaker, 1);
+        assertEquals(breaker.getState(), CircuitBreaker.State.CLOSED);
+    }
+}
@@ -0,0 +1,157 @@
+package com.eaapp.core;
+
+import static org.testng.Assert.*;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.testng.annotations.Test;
+
+public class DescriptionIndexHealerTest {
+
+    /** Serves a fixed candidate list and XPaths for them to the healer's scripts. */
+    private static final class FakePage {
+        private final List<Map<String, Object>> candidates = new ArrayList<>();
+        private final Map<WebElement, String> xpaths = new HashMap<>();
+
+        WebElement add(String xpath, String... fields) {
+            WebElement element = (WebElement) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[] { WebElement.class }, (proxy, method, args) -> {
+                        switch (method.getName()) {
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        case "toString":
+                            return xpath;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                        }
+                    });
+            Map<String, Object> candidate = new HashMap<>();
+            for (int i = 0; i < fields.length; i += 2) {
+                candidate.put(fields[i], fields[i + 1]);
+            }
+            candidate.put("element", element);
+            candidates.add(candidate);
+            xpaths.put(element, xpath);
+            return element;
+        }
+
+        WebDriver driver() {
+            return (WebDriver) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[] { WebDriver.class, JavascriptExecutor.class }, (proxy, method, args) -> {
+                        switch (method.getName()) {
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        case "toString":
+                            return "FakePage";
+                        case "executeScript":
+                            return executeScript((String) args[0], (Object[]) args[1]);
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                        }
+                    });
+        }
+
+        private Object executeScript(String script, Object[] arguments) {
+            if (script.contains("querySelectorAll(selector)")) {
+                return candidates;
+            }
+            if (script.contains("x = xp(el)")) {
+                return xpaths.get(arguments[0]);
+            }
+            // No DOM version signal, so the index is rebuilt for every heal
+            return null;
+        }
+    }
+
+    private static FakePage loginPage() {
+        FakePage page = new FakePage();
+        page.add("//a[@id='registerLink']", "tag", "a", "id", "registerLink", "text", "Register");
+        page.add("//a[@id='loginLink']", "tag", "a", "id", "loginLink", "text", "Login");
+        page.add("//input[@id='UserName']", "tag", "input", "id", "UserName", "name", "UserName", "type", "text",
+                "label", "UserName");
+        page.add("//input[@id='Password']", "tag", "input", "id", "Password", "name", "Password", "type",
+                "password", "label", "Password");
+        page.add("//input[@value='Log in']", "tag", "input", "type", "submit", "text", "Log in");
+        return page;
+    }
+
+    @Test
+    public void clearBestMatchIsHealedWithItsVerifiedXPath() {
+        FakePage page = loginPage();
+        FingerprintHealer.Match match = new DescriptionIndexHealer().heal(page.driver(), "Password",
+                "Password input field on login page");
+        assertNotNull(match);
+        assertEquals(match.getXpath(), "//input[@id='Password']");
+        assertTrue(match.getScore() > 0);
+    }
+
+    @Test
+    public void joinedWordsMatchTheKeyName() {
+        FakePage page = loginPage();
+        FingerprintHealer.Match match = new DescriptionIndexHealer().heal(page.driver(), "LoginButton",
+                "Log in submit button on login page");
+        assertNotNull(match);
+        assertEquals(match.getXpath(), "//input[@value='Log in']");
+    }
+
+    @Test
+    public void matchCoveringTooLittleOfTheDescriptionIsRejected() {
+        FakePage page = new FakePage();
+        page.add("//input[@id='Name']", "tag", "input", "id", "Name", "name", "Name", "type", "text");
+        page.add("//a[@id='loginLink']", "tag", "a", "id", "loginLink", "text", "Login");
+        // The only input is far ahead, but covers just "input" and "field" of the five query words
+        assertNull(new DescriptionIndexHealer().heal(page.driver(), "Salary",
+                "Salary input field on create employee page"));
+    }
+
+    @Test
+    public void topHitThatIsNotClearlyAheadIsRejected() {
+        FakePage page = new FakePage();
+        page.add("//input[@id='Email']", "tag", "input", "name", "Email", "type", "email");
+        page.add("//input[@id='ConfirmEmail']", "tag", "input", "name", "Email", "type", "email");
+        page.add("//a[@id='loginLink']", "tag", "a", "id", "loginLink", "text", "Login");
+        assertNull(new DescriptionIndexHealer().heal(page.driver(), "Email", "Email input field"));
+    }
+
+    @Test
+    public void topHitWithoutAStableXPathIsRejected() {
+        FakePage page = loginPage();
+        page.xpaths.clear();
+        assertNull(new DescriptionIndexHealer().heal(page.driver(), "Password", "Password input field on login page"));
+    }
+
+    @Test
+    public void driversWithoutScriptsAreNotHealed() {
+        WebDriver driver = (WebDriver) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { WebDriver.class }, (proxy, method, args) -> {
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        assertNull(new DescriptionIndexHealer().heal(driver, "Password", "Password input field"));
+    }
+
+    @Test
+    public void tokenizeSplitsCamelCaseDropsStopWordsAndStems() {
+        assertEquals(DescriptionIndexHealer.tokenize("EmployeeDetails link on the page", false),
+                Arrays.asList("employee", "detail", "link"));
+        assertEquals(DescriptionIndexHealer.tokenize("Address class", false), Arrays.asList("address", "class"));
+    }
+
+    @Test
+    public void tokenizeJoinsAdjacentWordsOnTheElementSide() {
+        assertEquals(DescriptionIndexHealer.tokenize("Log in", true), Arrays.asList("log", "login"));
+        assertEquals(DescriptionIndexHealer.tokenize("UserName", true),
+                Arrays.asList("user", "name", "username"));
+    }
+}
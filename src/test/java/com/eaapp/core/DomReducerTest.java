@@ -0,0 +1,72 @@
+package com.eaapp.core;
+
+import static org.testng.Assert.*;
+
+import java.nio.charset.StandardCharsets;
+
+import org.jsoup.Jsoup;
+import org.testng.annotations.Test;
+
+public class DomReducerTest {
+
+    private static String reduce(String body, String originalXPath, int maxBytes) {
+        return DomReducer.reduce("<html><head><title>Login</title></head><body>" + body + "</body></html>",
+                originalXPath, maxBytes).getHtml();
+    }
+
+    private static int utf8Length(String value) {
+        return value.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    @Test
+    public void scriptsStylesAndHiddenMarkupAreStripped() {
+        String reduced = reduce("<script>var token = 'secret';</script><style>.btn { color: red; }</style>"
+                + "<svg><path d='M0 0'/></svg><!-- build 42 --><input type='hidden' name='__RequestVerificationToken'>"
+                + "<button id='save'>Save</button>", "//button[@id='save']", 4096);
+
+        assertTrue(reduced.contains("<button id=\"save\">Save</button>"), reduced);
+        for (String stripped : new String[] { "script", "secret", "style", "color", "svg", "build 42",
+                "RequestVerificationToken" }) {
+            assertFalse(reduced.contains(stripped), stripped + " in " + reduced);
+        }
+    }
+
+    @Test
+    public void onlyIdentifyingAttributesAreKept() {
+        String longValue = new String(new char[100]).replace('\0', 'x');
+        String reduced = reduce("<input id='Name' name='Name' type='text' onclick='track()' style='width: 10px'"
+                + " tabindex='3' aria-label='Name' data-testid='name' data-bind='value: name'"
+                + " placeholder='" + longValue + "'>", "//input[@id='Name']", 4096);
+
+        assertTrue(reduced.contains("<input id=\"Name\" name=\"Name\" type=\"text\" aria-label=\"Name\""
+                + " data-testid=\"name\">"), reduced);
+        assertFalse(reduced.contains(longValue), "values longer than 80 characters are dropped");
+    }
+
+    @Test
+    public void containersWithAClassAreKeptAndAnonymousOnesUnwrapped() {
+        String reduced = reduce("<div class='login-form'><div><span><input id='UserName'></span></div></div>",
+                "//input[@id='UserName']", 4096);
+
+        assertTrue(reduced.contains("<div class=\"login-form\"><input id=\"UserName\"></div>"), reduced);
+        assertFalse(Jsoup.parse(reduced).selectXpath("//div[@class='login-form']/input[@id='UserName']").isEmpty(),
+                "structural XPaths through the kept container still hold");
+    }
+
+    @Test
+    public void truncationNeverSplitsAMultibyteCharacter() {
+        // Unwrapped, the paragraph leaves the body without child elements, so its HTML is cut by bytes
+        String reduced = reduce("<p>Café 😀 Zürich</p>", null, 9);
+        assertEquals(reduced, "<body>Caf");
+
+        for (int maxBytes = 6; maxBytes <= 24; maxBytes++) {
+            String cut = reduce("<p>é😀é😀é</p>", null, maxBytes);
+            assertTrue(utf8Length(cut) <= maxBytes, cut + " fits in " + maxBytes);
+            assertTrue(maxBytes - utf8Length(cut) < 4, cut + " is the longest prefix within " + maxBytes);
+            assertFalse(Character.isHighSurrogate(cut.charAt(cut.length() - 1)), "split surrogate pair at " + maxBytes);
+            assertEquals(new String(cut.getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8), cut);
+        }
+        assertEquals(reduce("<p>é😀é😀é</p>", null, 11), "<body>é");
+        assertEquals(reduce("<p>é😀é😀é</p>", null, 12), "<body>é😀");
+    }
+}
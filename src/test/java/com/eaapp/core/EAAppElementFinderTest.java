@@ -0,0 +1,132 @@
+package com.eaapp.core;
+
+import static org.testng.Assert.*;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+public class EAAppElementFinderTest {
+    private EAAppElementFinder finder;
+
+    @BeforeClass
+    public void createFinder() {
+        finder = new EAAppElementFinder("test-key");
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void closeFinder() {
+        finder.close();
+    }
+
+    /**
+     * A page on which every anchor resolves and the candidate scripts of the offline tiers find
+     * one table cell. Records which scripts ran.
+     */
+    private static final class FakePage {
+        private final List<String> scripts = new ArrayList<>();
+        private final WebElement cell = (WebElement) Proxy.newProxyInstance(FakePage.class.getClassLoader(),
+                new Class<?>[] { WebElement.class }, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "equals":
+                        return proxy == args[0];
+                    case "toString":
+                        return "cell";
+                    default:
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+
+        WebDriver driver() {
+            return (WebDriver) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[] { WebDriver.class, JavascriptExecutor.class }, (proxy, method, args) -> {
+                        switch (method.getName()) {
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        case "toString":
+                            return "FakePage";
+                        case "executeScript":
+                            return executeScript((String) args[0], (Object[]) args[1]);
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                        }
+                    });
+        }
+
+        @SuppressWarnings("unchecked")
+        private Object executeScript(String script, Object[] arguments) {
+            scripts.add(script);
+            if (script.startsWith("var locators = arguments[0], counts = {};")) {
+                Map<String, Object> counts = new HashMap<>();
+                for (String key : ((Map<String, String>) arguments[0]).keySet()) {
+                    counts.put(key, 1L);
+                }
+                return counts;
+            }
+            if (script.contains("querySelectorAll(selector)")) {
+                Map<String, Object> candidate = new HashMap<>();
+                candidate.put("tag", "td");
+                candidate.put("text", "Employee Table");
+                candidate.put("element", cell);
+                return Collections.singletonList(candidate);
+            }
+            if (script.contains("x = xp(el)") || script.endsWith("return xp(arguments[0]);")) {
+                return "//td[@id='firstCell']";
+            }
+            // No DOM version signal
+            return null;
+        }
+
+        boolean ranOfflineTiers() {
+            for (String script : scripts) {
+                if (script.contains("querySelectorAll(selector)")) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    @Test
+    public void anchoredKeyOnAPageIsNeverHealedOffline() {
+        FakePage fake = new FakePage();
+        WebDriver driver = fake.driver();
+        PageElements page = new PageElements(finder, driver, "EmployeeList",
+                Collections.singletonList("NoResultMessage"));
+
+        NoSuchElementException absent = expectThrows(NoSuchElementException.class,
+                () -> finder.healPageElement(driver, page, "NoResultMessage"));
+        assertTrue(absent.getMessage().contains("is not on the current page"), absent.getMessage());
+        assertFalse(fake.ranOfflineTiers(), "the anchor is checked before the offline tiers");
+        assertEquals(finder.getMetrics().count("NoResultMessage", HealingMetrics.Counter.OFFLINE_HEAL), 0);
+    }
+
+    @Test
+    public void derivedAnchorDoesNotStopASingleElementHeal() {
+        FakePage fake = new FakePage();
+        WebDriver driver = fake.driver();
+        // EmployeeTable is //table//tbody/tr/td[1]: its row still resolves when the cell locator breaks
+        PageElements page = new PageElements(finder, driver, "EmployeeList",
+                Collections.singletonList("EmployeeTable"));
+
+        assertSame(finder.healPageElement(driver, page, "EmployeeTable"), fake.cell);
+        assertTrue(fake.ranOfflineTiers());
+        assertEquals(finder.getMetrics().count("EmployeeTable", HealingMetrics.Counter.OFFLINE_HEAL), 1);
+        assertEquals(finder.getMetrics().count("EmployeeTable", HealingMetrics.Counter.VALID_EMPTY), 0);
+    }
+}
@@ -0,0 +1,97 @@
+package com.eaapp.core;
+
+import static org.testng.Assert.*;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.testng.annotations.Test;
+
+public class ElementFingerprintTest {
+
+    private static Map<String, Object> element(String tag, String id, String name, String text) {
+        Map<String, Object> values = new HashMap<>();
+        values.put("tag", tag);
+        values.put("id", id);
+        values.put("name", name);
+        values.put("text", text);
+        return values;
+    }
+
+    @Test
+    public void identicalElementScoresOne() {
+        ElementFingerprint fingerprint = ElementFingerprint.fromXPath("//input[@id='UserName' and @name='UserName']");
+        ElementFingerprint candidate = ElementFingerprint.fromScriptResult(element("input", "UserName", "UserName", ""));
+        assertEquals(fingerprint.score(candidate), 1.0, 1e-9);
+    }
+
+    @Test
+    public void renamedIdStillScoresAboveTheHealThreshold() {
+        ElementFingerprint fingerprint = ElementFingerprint.fromXPath("//input[@id='UserName']");
+        ElementFingerprint candidate = ElementFingerprint.fromScriptResult(element("input", "UserName1", "UserName", ""));
+        double score = fingerprint.score(candidate);
+        assertTrue(score > 0.8 && score < 1.0, "score " + score);
+    }
+
+    @Test
+    public void unrelatedElementScoresLow() {
+        ElementFingerprint fingerprint = ElementFingerprint.fromXPath("//input[@id='UserName']");
+        ElementFingerprint candidate = ElementFingerprint.fromScriptResult(element("a", "loginLink", "", "Login"));
+        assertTrue(fingerprint.score(candidate) < 0.3, "score " + fingerprint.score(candidate));
+    }
+
+    @Test
+    public void featuresMissingFromTheFingerprintDoNotCount() {
+        ElementFingerprint fingerprint = ElementFingerprint.fromXPath("//input[@id='Password']");
+        ElementFingerprint candidate = ElementFingerprint.fromScriptResult(element("input", "Password", "pwd", "extra"));
+        assertEquals(fingerprint.score(candidate), 1.0, 1e-9);
+    }
+
+    @Test
+    public void distantPositionLowersTheScore() {
+        Map<String, Object> recorded = element("button", "submit", "", "Save");
+        recorded.put("x", 0.1);
+        recorded.put("y", 0.1);
+        Map<String, Object> moved = element("button", "submit", "", "Save");
+        moved.put("x", 0.9);
+        moved.put("y", 0.9);
+        ElementFingerprint fingerprint = ElementFingerprint.fromScriptResult(recorded);
+        // tag 2 + id 3 + text 2 match, the position weight of 1 does not
+        assertEquals(fingerprint.score(ElementFingerprint.fromScriptResult(moved)), 7.0 / 8.0, 1e-9);
+        assertEquals(fingerprint.score(ElementFingerprint.fromScriptResult(recorded)), 1.0, 1e-9);
+    }
+
+    @Test
+    public void classesScoreByOverlap() {
+        ElementFingerprint fingerprint = ElementFingerprint.fromXPath("//div[@class='btn btn-primary']");
+        Map<String, Object> values = element("div", "", "", "");
+        values.put("classes", Arrays.asList("btn", "btn-large"));
+        // tag 2 of 2, classes 1/3 of 1
+        assertEquals(fingerprint.score(ElementFingerprint.fromScriptResult(values)), (2 + 1.0 / 3) / 3, 1e-9);
+    }
+
+    @Test
+    public void fromXPathReadsTextPredicatesAndTheLastStepTag() {
+        ElementFingerprint fingerprint = ElementFingerprint.fromXPath("//ul[@class='nav']//a[text()='Employee List']");
+        assertEquals(fingerprint.getTag(), "a");
+        assertEquals(fingerprint.score(ElementFingerprint.fromScriptResult(element("a", "", "", "Employee List"))),
+                (2 + 2.0) / 5, 1e-9, "tag and text match, the ul's class does not");
+    }
+
+    @Test
+    public void tagOnlyFingerprintIsNotUsable() {
+        assertFalse(ElementFingerprint.fromXPath("//table//button").isUsable());
+        assertTrue(ElementFingerprint.fromXPath("//button[@name='save']").isUsable());
+        assertFalse(ElementFingerprint.fromXPath(null).isUsable());
+    }
+
+    @Test
+    public void similarityIsCaseInsensitiveAndZeroForEmpty() {
+        assertEquals(ElementFingerprint.similarity("LoginLink", "loginlink"), 1.0, 1e-9);
+        assertEquals(ElementFingerprint.similarity("Name", ""), 0.0, 1e-9);
+        assertEquals(ElementFingerprint.similarity("Name", null), 0.0, 1e-9);
+        // Containment of at least three characters counts as at least 0.85
+        assertEquals(ElementFingerprint.similarity("Salary", "EmployeeSalary"), 0.85, 1e-9);
+    }
+}
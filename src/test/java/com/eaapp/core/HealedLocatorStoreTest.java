@@ -0,0 +1,220 @@
+package com.eaapp.core;
+
+import static org.testng.Assert.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+public class HealedLocatorStoreTest {
+    private Path directory;
+    private Path snapshot;
+    private Path journal;
+
+    @BeforeMethod
+    public void createFiles() throws IOException {
+        directory = Files.createTempDirectory("healed-locators-test");
+        snapshot = directory.resolve("healed_locators.json");
+        journal = directory.resolve("healed_locators.json.journal");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void deleteFiles() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    private HealedLocatorStore open() {
+        HealedLocatorStore store = new HealedLocatorStore();
+        store.open(snapshot.toString());
+        return store;
+    }
+
+    private List<String> journalLines() throws IOException {
+        return Files.exists(journal) ? Files.readAllLines(journal, StandardCharsets.UTF_8)
+                : Collections.<String>emptyList();
+    }
+
+    @Test
+    public void readsSnapshotsInTheOldKeyToXPathForm() throws IOException {
+        Files.write(snapshot, "{\"LoginLink\": \"//a[@id='loginLink']\"}".getBytes(StandardCharsets.UTF_8));
+        assertEquals(open().get("LoginLink"), "//a[@id='loginLink']");
+    }
+
+    @Test
+    public void putIsJournaledAndReplayedByTheNextOpen() throws IOException {
+        HealedLocatorStore store = open();
+        store.put("UserName", "//input[@name='UserName']", Arrays.asList("//input[@id='UserName']"));
+
+        List<String> lines = journalLines();
+        assertEquals(lines.size(), 1);
+        JsonObject entry = JsonParser.parseString(lines.get(0)).getAsJsonObject();
+        assertEquals(entry.get("key").getAsString(), "UserName");
+        assertEquals(entry.get("locator").getAsString(), "//input[@name='UserName']");
+        assertFalse(Files.exists(snapshot), "nothing is compacted before heal.journal.compact.every appends");
+
+        HealedLocatorStore reopened = open();
+        assertEquals(reopened.get("UserName"), "//input[@name='UserName']");
+        assertEquals(reopened.alternates("UserName"),
+                Arrays.asList("//input[@name='UserName']", "//input[@id='UserName']"));
+    }
+
+    @Test
+    public void puttingAKnownLocatorAgainIsNotJournaled() throws IOException {
+        HealedLocatorStore store = open();
+        store.put("Password", "//input[@id='Password']");
+        store.put("Password", "//input[@id='Password']");
+        assertEquals(journalLines().size(), 1);
+    }
+
+    @Test
+    public void tornLastJournalLineIsSkipped() throws IOException {
+        HealedLocatorStore store = open();
+        store.put("Email", "//input[@id='Email']");
+        Files.write(journal, "{\"key\": \"Salary\", \"locat".getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+
+        HealedLocatorStore reopened = open();
+        assertEquals(reopened.get("Email"), "//input[@id='Email']");
+        assertNull(reopened.get("Salary"));
+    }
+
+    @Test
+    public void compactionWritesTheSnapshotAndTruncatesTheJournal() throws IOException {
+        HealedLocatorStore store = open();
+        store.put("LoginButton", "//input[@value='Log in']");
+        store.compact(snapshot.toString());
+
+        assertTrue(journalLines().isEmpty());
+        JsonObject alternate = readSnapshot().getAsJsonArray("LoginButton").get(0).getAsJsonObject();
+        assertEquals(alternate.get("locator").getAsString(), "//input[@value='Log in']");
+        assertEquals(alternate.get("successes").getAsLong(), 1);
+        assertEquals(open().get("LoginButton"), "//input[@value='Log in']");
+    }
+
+    @Test
+    public void compactionMergesWhatOtherProcessesJournaled() {
+        HealedLocatorStore first = open();
+        HealedLocatorStore second = open();
+        first.put("Name", "//input[@id='Name']");
+        second.put("Salary", "//input[@id='Salary']");
+
+        first.compact(snapshot.toString());
+
+        HealedLocatorStore reopened = open();
+        assertEquals(reopened.get("Name"), "//input[@id='Name']");
+        assertEquals(reopened.get("Salary"), "//input[@id='Salary']");
+    }
+
+    @Test
+    public void mergeKeepsTheLargerCountsOfBothSides() throws IOException {
+        HealedLocatorStore first = open();
+        HealedLocatorStore second = open();
+        List<String> email = Arrays.asList("//input[@id='Email']");
+        first.put("Email", email.get(0));
+        for (int i = 0; i < 3; i++) {
+            first.recordLookup("Email", email, 0, Arrays.asList(0.5));
+        }
+        first.compact(snapshot.toString());
+
+        second.put("Email", email.get(0));
+        second.recordLookup("Email", email, -1, Arrays.asList(0.5));
+        second.compact(snapshot.toString());
+
+        JsonObject alternate = readSnapshot().getAsJsonArray("Email").get(0).getAsJsonObject();
+        assertEquals(alternate.get("successes").getAsLong(), 4);
+        assertEquals(alternate.get("failures").getAsLong(), 1);
+    }
+
+    @Test
+    public void compactingAnUnboundStoreJournalsWhatWasHealedBeforeIt() {
+        HealedLocatorStore unbound = new HealedLocatorStore();
+        unbound.put("EmployeeListLink", "//a[text()='Employee List']");
+        unbound.compact(snapshot.toString());
+
+        assertEquals(open().get("EmployeeListLink"), "//a[text()='Employee List']");
+    }
+
+    @Test
+    public void freshlyHealedLocatorRanksAboveTheOneThatStoppedMatching() {
+        HealedLocatorStore store = open();
+        List<String> old = Arrays.asList("//input[@id='Email']");
+        store.put("Email", old.get(0));
+        for (int i = 0; i < 20; i++) {
+            store.recordLookup("Email", old, 0, Arrays.asList(0.05));
+        }
+        store.recordLookup("Email", old, -1, Arrays.asList(0.05));
+
+        store.put("Email", "//input[@name='Email']");
+        assertEquals(store.alternates("Email"), Arrays.asList("//input[@name='Email']", "//input[@id='Email']"));
+    }
+
+    @Test
+    public void healingBackToAKnownAlternatePromotesIt() {
+        HealedLocatorStore store = open();
+        store.put("Name", "//input[@id='Name']", Arrays.asList("//input[@name='Name']"));
+        List<String> ranked = store.alternates("Name");
+        for (int i = 0; i < 10; i++) {
+            store.recordLookup("Name", ranked, 0, Arrays.asList(0.5));
+        }
+        assertEquals(store.get("Name"), "//input[@id='Name']");
+
+        store.put("Name", "//input[@name='Name']");
+        assertEquals(store.alternates("Name"), Arrays.asList("//input[@name='Name']", "//input[@id='Name']"));
+    }
+
+    @Test
+    public void demotionSurvivesMergingWithTheSnapshot() {
+        HealedLocatorStore store = open();
+        List<String> old = Arrays.asList("//input[@id='Salary']");
+        store.put("Salary", old.get(0));
+        for (int i = 0; i < 20; i++) {
+            store.recordLookup("Salary", old, 0, Arrays.asList(0.05));
+        }
+        store.compact(snapshot.toString());
+
+        store.put("Salary", "//input[@name='Salary']");
+        store.compact(snapshot.toString());
+        assertEquals(store.get("Salary"), "//input[@name='Salary']");
+        assertEquals(open().get("Salary"), "//input[@name='Salary']");
+    }
+
+    @Test
+    public void equivalentsVerifiedWithTheWinnerRankAfterIt() {
+        HealedLocatorStore store = open();
+        store.put("Password", "//input[@id='Password']",
+                Arrays.asList("//input[@name='Password']", "//input[@type='password']"));
+        assertEquals(store.alternates("Password"), Arrays.asList("//input[@id='Password']",
+                "//input[@name='Password']", "//input[@type='password']"));
+
+        // A winner with failures behind it still ranks above equivalents that were never timed
+        List<String> winner = Arrays.asList("//input[@id='Email']");
+        store.put("Email", winner.get(0));
+        for (int i = 0; i < 3; i++) {
+            store.recordLookup("Email", winner, -1, Arrays.asList(0.5));
+        }
+        store.put("Email", winner.get(0), Arrays.asList("//input[@name='Email']", "//input[@type='email']"));
+        assertEquals(store.alternates("Email"), Arrays.asList("//input[@id='Email']",
+                "//input[@name='Email']", "//input[@type='email']"));
+    }
+
+    private JsonObject readSnapshot() throws IOException {
+        return JsonParser.parseString(new String(Files.readAllBytes(snapshot), StandardCharsets.UTF_8))
+                .getAsJsonObject();
+    }
+}
@@ -0,0 +1,170 @@
+package com.eaapp.core;
+
+import static org.testng.Assert.*;
+
+import java.io.IOException;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.apache.http.client.methods.HttpPost;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.eaapp.utils.ConfigReader;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+public class HealingCallExecutorTest {
+    // One attempt per call, a breaker that opens on a single failure for 50ms, a 300ms deadline
+    // and one request per minute of rate budget
+    private static final String[][] SETTINGS = {
+            { "max.healing.attempts", "1" },
+            { "ai.circuit.window", "1" },
+            { "ai.circuit.min.calls", "1" },
+            { "ai.circuit.open.ms", "50" },
+            { "ai.heal.deadline.ms", "300" },
+            { "ai.rate.rpm", "1" },
+    };
+
+    private final Map<String, String> previous = new HashMap<>();
+
+    @BeforeClass
+    public void configure() {
+        for (String[] setting : SETTINGS) {
+            previous.put(setting[0], ConfigReader.getProperty(setting[0]));
+            ConfigReader.setProperty(setting[0], setting[1]);
+        }
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void restore() {
+        for (Map.Entry<String, String> setting : previous.entrySet()) {
+            ConfigReader.setProperty(setting.getKey(), setting.getValue() != null ? setting.getValue() : "");
+        }
+    }
+
+    /** Answers each call with the next scripted outcome. */
+    private static final class ScriptedClient extends HealerHttpClient {
+        private final Deque<Supplier<Response>> outcomes = new ConcurrentLinkedDeque<>();
+
+        ScriptedClient then(Supplier<Response> outcome) {
+            outcomes.add(outcome);
+            return this;
+        }
+
+        @Override
+        public Response send(HttpPost request) throws IOException {
+            Supplier<Response> outcome = outcomes.poll();
+            if (outcome == null) {
+                throw new IOException("no scripted outcome left");
+            }
+            return outcome.get();
+        }
+
+        @Override
+        public Response stream(HttpPost request, Predicate<String> onEvent) throws IOException {
+            return send(request);
+        }
+    }
+
+    private static Supplier<HealerHttpClient.Response> status(int status) {
+        return () -> new HealerHttpClient.Response(status, "{\"status\": " + status + "}", -1);
+    }
+
+    private static String call(HealingCallExecutor executor) {
+        return executor.execute("Key", LlmRateLimiter.Priority.BLOCKING, "{}",
+                body -> new HttpPost("http://127.0.0.1:9/v1/chat/completions"));
+    }
+
+    @Test
+    public void unexpectedExceptionInAHalfOpenTrialDoesNotWedgeTheBreaker() throws InterruptedException {
+        ConfigReader.setProperty("ai.rate.rpm", "600");
+        ScriptedClient client = new ScriptedClient()
+                .then(status(503))
+                .then(() -> {
+                    throw new IllegalStateException("unparseable response");
+                })
+                .then(status(200));
+        try (HealingCallExecutor executor = new HealingCallExecutor(client, new HealingMetrics())) {
+            assertNotNull(call(executor));
+            assertEquals(executor.getCircuitBreaker().getState(), CircuitBreaker.State.OPEN);
+
+            Thread.sleep(80);
+            assertNull(call(executor), "the trial call threw");
+            assertEquals(executor.getCircuitBreaker().getState(), CircuitBreaker.State.OPEN,
+                    "a trial that threw counts as failed");
+
+            Thread.sleep(80);
+            assertEquals(call(executor), "{\"status\": 200}");
+            assertEquals(executor.getCircuitBreaker().getState(), CircuitBreaker.State.CLOSED);
+        } finally {
+            ConfigReader.setProperty("ai.rate.rpm", "1");
+        }
+    }
+
+    @Test
+    public void openCircuitReturnsWithoutTouchingTheRateLimiter() {
+        ConfigReader.setProperty("ai.circuit.open.ms", "60000");
+        ScriptedClient client = new ScriptedClient().then(status(503));
+        try (HealingCallExecutor executor = new HealingCallExecutor(client, new HealingMetrics())) {
+            assertNotNull(call(executor));
+            assertEquals(executor.getCircuitBreaker().getState(), CircuitBreaker.State.OPEN);
+
+            // The one request of this minute is spent, so queueing for budget would take the whole deadline
+            long start = System.nanoTime();
+            assertNull(call(executor));
+            assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(150), "failed fast");
+            assertTrue(executor.getRateLimiter().toString().startsWith("acquired=1, timedOut=0,"),
+                    executor.getRateLimiter().toString());
+        } finally {
+            ConfigReader.setProperty("ai.circuit.open.ms", "50");
+        }
+    }
+
+    @Test
+    public void halfOpenTrialWithoutRateBudgetDoesNotWedgeTheBreaker() throws InterruptedException {
+        ScriptedClient client = new ScriptedClient().then(status(503));
+        try (HealingCallExecutor executor = new HealingCallExecutor(client, new HealingMetrics())) {
+            assertNotNull(call(executor));
+            Thread.sleep(80);
+
+            assertNull(call(executor), "the trial found no rate budget before its deadline");
+            assertNotEquals(executor.getCircuitBreaker().getState(), CircuitBreaker.State.HALF_OPEN);
+        }
+    }
+
+    @Test
+    public void queueWaitWithoutRateBudgetIsTheTimeSpentWaiting() throws InterruptedException {
+        ScriptedClient client = new ScriptedClient().then(status(200)).then(status(200));
+        HealingMetrics.beginTestScope();
+        HealingMetrics scope = HealingMetrics.currentTestScope();
+        try (HealingCallExecutor executor = new HealingCallExecutor(client, new HealingMetrics())) {
+            assertNotNull(call(executor));
+            // The one request of this minute is spent: the second call waits out its deadline
+            assertNull(call(executor));
+
+            // The executor thread may record the wait a moment after the caller gave up
+
+            JsonObject queueWait = queueWait(scope);
+            for (int i = 0; i < 100 && queueWait.get("count").getAsLong() < 2; i++) {
+                Thread.sleep(20);
+                queueWait = queueWait(scope);
+            }
+            assertEquals(queueWait.get("count").getAsLong(), 2, "recorded into the caller's test scope");
+            assertTrue(queueWait.get("maxMs").getAsDouble() >= 250, "waited " + queueWait.get("maxMs"));
+        } finally {
+            HealingMetrics.endTestScope();
+        }
+    }
+
+    private static JsonObject queueWait(HealingMetrics scope) {
+        return JsonParser.parseString(scope.toJson()).getAsJsonObject()
+                .getAsJsonObject("Key").getAsJsonObject("queueWait");
+    }
+}
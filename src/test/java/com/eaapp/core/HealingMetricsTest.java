@@ -0,0 +1,117 @@
+package com.eaapp.core;
+
+import static org.testng.Assert.*;
+
+import java.util.concurrent.TimeUnit;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+public class HealingMetricsTest {
+
+    @AfterMethod(alwaysRun = true)
+    public void closeScope() {
+        HealingMetrics.endTestScope();
+    }
+
+    private static long micros(long value) {
+        return TimeUnit.MICROSECONDS.toNanos(value);
+    }
+
+    @Test
+    public void emptyHistogramReportsZero() {
+        HealingMetrics.LatencyHistogram histogram = new HealingMetrics.LatencyHistogram();
+        assertEquals(histogram.count(), 0);
+        assertEquals(histogram.meanMs(), 0.0);
+        assertEquals(histogram.percentileMs(99), 0.0);
+    }
+
+    @Test
+    public void percentileIsWithinABucketOfTheRecordedValue() {
+        // Pairing each value with a much larger one keeps the max from clamping the p50 bucket bound
+        for (long value = 1; value < 5_000_000; value = value * 3 / 2 + 1) {
+            HealingMetrics.LatencyHistogram histogram = new HealingMetrics.LatencyHistogram();
+            histogram.record(micros(value));
+            histogram.record(micros(value * 10));
+            double p50Micros = histogram.percentileMs(50) * 1000;
+            assertTrue(p50Micros >= value - 1e-6, value + "us reported as " + p50Micros);
+            assertTrue(p50Micros <= value * 1.25 + 1, value + "us reported as " + p50Micros);
+        }
+    }
+
+    @Test
+    public void percentilesFollowTheDistribution() {
+        HealingMetrics.LatencyHistogram histogram = new HealingMetrics.LatencyHistogram();
+        for (int ms = 1; ms <= 100; ms++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(ms));
+        }
+        assertEquals(histogram.count(), 100);
+        assertEquals(histogram.meanMs(), 50.5, 1e-9);
+        assertEquals(histogram.maxMs(), 100.0, 1e-9);
+        assertTrue(histogram.percentileMs(50) >= 50 && histogram.percentileMs(50) <= 50 * 1.25);
+        assertTrue(histogram.percentileMs(95) >= 95 && histogram.percentileMs(95) <= 100);
+        // Never above the largest value recorded, even when its bucket bound is
+        assertEquals(histogram.percentileMs(100), 100.0, 1e-9);
+    }
+
+    @Test
+    public void subMicrosecondAndHugeValuesStayInRange() {
+        HealingMetrics.LatencyHistogram histogram = new HealingMetrics.LatencyHistogram();
+        histogram.record(500);
+        histogram.record(-1);
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(histogram.count(), 3);
+        assertEquals(histogram.percentileMs(50), 0.0);
+        assertTrue(histogram.percentileMs(100) > 0 && histogram.percentileMs(100) <= histogram.maxMs());
+    }
+
+    @Test
+    public void countsAndTimersAreKeptPerKeyAndForAllKeys() {
+        HealingMetrics metrics = new HealingMetrics();
+        metrics.increment("UserName", HealingMetrics.Counter.PRIMARY_HIT);
+        metrics.increment("UserName", HealingMetrics.Counter.PRIMARY_HIT);
+        metrics.record("UserName", HealingMetrics.Timer.PRIMARY_LOOKUP, micros(100));
+        metrics.record("Password", HealingMetrics.Timer.PRIMARY_LOOKUP, micros(300));
+
+        assertEquals(metrics.count("UserName", HealingMetrics.Counter.PRIMARY_HIT), 2);
+        assertEquals(metrics.count("Password", HealingMetrics.Counter.PRIMARY_HIT), 0);
+        String csv = metrics.toCsv();
+        assertTrue(csv.contains("UserName,primaryHit,2,"), csv);
+        assertTrue(csv.contains(HealingMetrics.ALL_KEYS + ",primaryLookup,2,"), csv);
+    }
+
+    @Test
+    public void testScopeSeesOnlyItsOwnThreadsRecords() throws InterruptedException {
+        HealingMetrics metrics = new HealingMetrics();
+        HealingMetrics.beginTestScope();
+        metrics.increment("Email", HealingMetrics.Counter.HEALED_HIT);
+        Thread other = new Thread(() -> metrics.increment("Email", HealingMetrics.Counter.HEALED_HIT));
+        other.start();
+        other.join();
+
+        HealingMetrics scoped = HealingMetrics.endTestScope();
+        assertEquals(scoped.count("Email", HealingMetrics.Counter.HEALED_HIT), 1);
+        assertEquals(metrics.count("Email", HealingMetrics.Counter.HEALED_HIT), 2);
+    }
+
+    @Test
+    public void capturedScopeReceivesTimersRecordedOnAnotherThread() throws InterruptedException {
+        HealingMetrics metrics = new HealingMetrics();
+        HealingMetrics.beginTestScope();
+        HealingMetrics captured = HealingMetrics.currentTestScope();
+        Thread worker = new Thread(() -> metrics.record("Salary", HealingMetrics.Timer.QUEUE_WAIT, micros(250),
+                captured));
+        worker.start();
+        worker.join();
+
+        HealingMetrics scoped = HealingMetrics.endTestScope();
+        assertSame(scoped, captured);
+        assertTrue(scoped.toCsv().contains("Salary,queueWait,1,"), scoped.toCsv());
+    }
+
+    @Test
+    public void endingWithoutAScopeGivesAnEmptyRecorder() {
+        assertNull(HealingMetrics.currentTestScope());
+        assertTrue(HealingMetrics.endTestScope().isEmpty());
+    }
+}
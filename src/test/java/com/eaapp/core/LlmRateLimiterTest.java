@@ -0,0 +1,99 @@
+package com.eaapp.core;
+
+import static org.testng.Assert.*;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.annotations.Test;
+
+public class LlmRateLimiterTest {
+    private static final LlmRateLimiter.Priority BLOCKING = LlmRateLimiter.Priority.BLOCKING;
+    private static final LlmRateLimiter.Priority SPECULATIVE = LlmRateLimiter.Priority.SPECULATIVE;
+
+    private static long in(long millis) {
+        return System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    @Test
+    public void requestBudgetRunsOutAtTheDeadline() throws InterruptedException {
+        LlmRateLimiter limiter = new LlmRateLimiter(2, 1_000_000);
+        assertTrue(limiter.acquire(10, BLOCKING, in(50)) >= 0);
+        assertTrue(limiter.acquire(10, BLOCKING, in(50)) >= 0);
+
+        long start = System.nanoTime();
+        assertEquals(limiter.acquire(10, BLOCKING, in(50)), -1);
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(40), "waited for the deadline");
+    }
+
+    @Test
+    public void tokenBudgetRunsOutAtTheDeadline() throws InterruptedException {
+        LlmRateLimiter limiter = new LlmRateLimiter(100, 1000);
+        assertTrue(limiter.acquire(1000, BLOCKING, in(50)) >= 0);
+        assertEquals(limiter.acquire(100, BLOCKING, in(50)), -1);
+    }
+
+    @Test
+    public void requestLargerThanTheBudgetTakesAFullBucket() throws InterruptedException {
+        LlmRateLimiter limiter = new LlmRateLimiter(100, 1000);
+        assertTrue(limiter.acquire(5000, BLOCKING, in(50)) >= 0);
+        assertEquals(limiter.acquire(1, BLOCKING, in(50)), -1);
+    }
+
+    @Test
+    public void reconcileRefundsOverEstimatedTokens() throws InterruptedException {
+        LlmRateLimiter limiter = new LlmRateLimiter(100, 1000);
+        assertTrue(limiter.acquire(1000, BLOCKING, in(50)) >= 0);
+        limiter.reconcile(1000, 200);
+        assertTrue(limiter.acquire(750, BLOCKING, in(50)) >= 0);
+    }
+
+    @Test
+    public void reconcileIgnoresUnknownUsage() throws InterruptedException {
+        LlmRateLimiter limiter = new LlmRateLimiter(100, 1000);
+        assertTrue(limiter.acquire(1000, BLOCKING, in(50)) >= 0);
+        limiter.reconcile(1000, -1);
+        assertEquals(limiter.acquire(100, BLOCKING, in(50)), -1);
+    }
+
+    @Test
+    public void rateLimitedPausesCallersForRetryAfter() throws InterruptedException {
+        LlmRateLimiter limiter = new LlmRateLimiter(100, 1_000_000);
+        limiter.onRateLimited(150);
+        long waited = limiter.acquire(10, BLOCKING, in(2000));
+        assertTrue(waited >= TimeUnit.MILLISECONDS.toNanos(140), "waited " + waited + "ns");
+    }
+
+    @Test
+    public void rateLimitedWithoutRetryAfterPausesForOneSecond() throws InterruptedException {
+        LlmRateLimiter limiter = new LlmRateLimiter(100, 1_000_000);
+        limiter.onRateLimited(-1);
+        assertEquals(limiter.acquire(10, BLOCKING, in(200)), -1);
+    }
+
+    @Test
+    public void blockingCallerIsServedBeforeAnEarlierSpeculativeOne() throws Exception {
+        // A single request of budget, released when the pause ends
+        LlmRateLimiter limiter = new LlmRateLimiter(1, 1_000_000);
+        limiter.onRateLimited(200);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<Long> speculative = pool.submit(acquire(limiter, SPECULATIVE));
+            Thread.sleep(50);
+            Future<Long> blocking = pool.submit(acquire(limiter, BLOCKING));
+
+            assertTrue(blocking.get(5, TimeUnit.SECONDS) >= 0);
+            assertEquals(speculative.get(5, TimeUnit.SECONDS).longValue(), -1);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static Callable<Long> acquire(LlmRateLimiter limiter, LlmRateLimiter.Priority priority) {
+        long deadline = in(600);
+        return () -> limiter.acquire(10, priority, deadline);
+    }
+}
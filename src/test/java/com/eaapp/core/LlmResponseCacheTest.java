@@ -0,0 +1,109 @@
+package com.eaapp.core;
+
+import static org.testng.Assert.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class LlmResponseCacheTest {
+    private Path directory;
+
+    @BeforeMethod
+    public void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("llm-cache-test");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void deleteDirectory() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    public void returnsWhatWasPutAndCountsHitsAndMisses() {
+        LlmResponseCache cache = new LlmResponseCache(true, directory, 60_000, 10);
+        String key = LlmResponseCache.key("model", "<html/>", "//input[@id='Name']", "Name field");
+        assertNull(cache.get(key));
+        cache.put(key, "[\"//input[@name='Name']\"]");
+        assertEquals(cache.get(key), "[\"//input[@name='Name']\"]");
+        assertEquals(cache.getHits(), 1);
+        assertEquals(cache.getMisses(), 1);
+    }
+
+    @Test
+    public void keyDependsOnEveryPartAndItsBoundaries() {
+        assertEquals(LlmResponseCache.key("a", "b"), LlmResponseCache.key("a", "b"));
+        assertNotEquals(LlmResponseCache.key("a", "b"), LlmResponseCache.key("a", "c"));
+        assertNotEquals(LlmResponseCache.key("ab", "c"), LlmResponseCache.key("a", "bc"));
+    }
+
+    @Test
+    public void expiredEntryIsAMissAndIsDeleted() throws InterruptedException {
+        LlmResponseCache cache = new LlmResponseCache(true, directory, 200, 10);
+        String key = LlmResponseCache.key("expiring");
+        cache.put(key, "[]");
+        assertEquals(cache.get(key), "[]");
+        Thread.sleep(300);
+        assertNull(cache.get(key));
+        assertFalse(Files.exists(directory.resolve(key + ".json")));
+    }
+
+    @Test
+    public void evictsTheLeastRecentlyUsedEntryBeyondMaxEntries() throws IOException {
+        LlmResponseCache cache = new LlmResponseCache(true, directory, 60_000, 2);
+        String first = LlmResponseCache.key("first");
+        String second = LlmResponseCache.key("second");
+        String third = LlmResponseCache.key("third");
+        cache.put(first, "1");
+        cache.put(second, "2");
+        long now = System.currentTimeMillis();
+        Files.setLastModifiedTime(directory.resolve(first + ".json"), FileTime.fromMillis(now - 3000));
+        Files.setLastModifiedTime(directory.resolve(second + ".json"), FileTime.fromMillis(now - 2000));
+
+        // Reading the first entry makes the second the least recently used
+        assertEquals(cache.get(first), "1");
+        cache.put(third, "3");
+
+        assertNull(cache.get(second));
+        assertEquals(cache.get(first), "1");
+        assertEquals(cache.get(third), "3");
+    }
+
+    @Test
+    public void invalidateDropsTheEntry() {
+        LlmResponseCache cache = new LlmResponseCache(true, directory, 60_000, 10);
+        String key = LlmResponseCache.key("stale");
+        cache.put(key, "[]");
+        cache.invalidate(key);
+        assertNull(cache.get(key));
+    }
+
+    @Test
+    public void disabledCacheNeitherStoresNorCounts() throws IOException {
+        LlmResponseCache cache = new LlmResponseCache(false, directory, 60_000, 10);
+        cache.put("key", "[]");
+        assertNull(cache.get("key"));
+        try (Stream<Path> entries = Files.list(directory)) {
+            assertEquals(entries.count(), 0);
+        }
+        assertEquals(cache.getMisses(), 0);
+    }
+
+    @Test
+    public void unreadableEntryIsAMiss() throws IOException {
+        LlmResponseCache cache = new LlmResponseCache(true, directory, 60_000, 10);
+        String key = LlmResponseCache.key("torn");
+        Files.write(directory.resolve(key + ".json"), "{\"createdAt\":".getBytes());
+        assertNull(cache.get(key));
+        assertEquals(cache.getMisses(), 1);
+    }
+}
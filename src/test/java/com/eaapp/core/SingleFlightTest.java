@@ -0,0 +1,134 @@
+package com.eaapp.core;
+
+import static org.testng.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class SingleFlightTest {
+    private static final int FOLLOWERS = 4;
+
+    private ExecutorService pool;
+
+    @BeforeMethod
+    public void createPool() {
+        pool = Executors.newFixedThreadPool(FOLLOWERS + 1);
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void shutdownPool() {
+        pool.shutdownNow();
+    }
+
+    // Starts a leader whose work blocks on release, then FOLLOWERS callers for the same key
+    private List<Future<SingleFlight.Call<String>>> coalesce(SingleFlight<String, String> flight,
+            AtomicInteger runs, CountDownLatch release, RuntimeException failure) throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        Future<SingleFlight.Call<String>> leader = pool.submit(
+                () -> flight.execute("UserName", () -> {
+                    runs.incrementAndGet();
+                    started.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    if (failure != null) {
+                        throw failure;
+                    }
+                    return "//input[@id='UserName']";
+                }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        List<Future<SingleFlight.Call<String>>> calls = new ArrayList<>();
+        calls.add(leader);
+        for (int i = 0; i < FOLLOWERS; i++) {
+            calls.add(pool.submit(() -> flight.execute("UserName", () -> {
+                runs.incrementAndGet();
+                return "not the leader's result";
+            })));
+        }
+        return calls;
+    }
+
+    @Test
+    public void concurrentCallersShareTheLeadersResult() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>();
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<SingleFlight.Call<String>>> calls = coalesce(flight, runs, release, null);
+        // Followers return their Call at once and wait in get()
+        for (Future<SingleFlight.Call<String>> follower : calls.subList(1, calls.size())) {
+            assertFalse(follower.get(5, TimeUnit.SECONDS).isLeader());
+        }
+        assertEquals(flight.inFlightCount(), 1);
+        release.countDown();
+
+        int leaders = 0;
+        for (Future<SingleFlight.Call<String>> call : calls) {
+            SingleFlight.Call<String> result = call.get(5, TimeUnit.SECONDS);
+            leaders += result.isLeader() ? 1 : 0;
+            assertEquals(result.get(), "//input[@id='UserName']");
+        }
+        assertEquals(leaders, 1);
+        assertEquals(runs.get(), 1);
+        assertEquals(flight.inFlightCount(), 0);
+    }
+
+    @Test
+    public void followersSeeTheExceptionTheLeaderFailedWith() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>();
+        IllegalStateException failure = new IllegalStateException("healing failed");
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<SingleFlight.Call<String>>> calls = coalesce(flight, new AtomicInteger(), release, failure);
+        for (Future<SingleFlight.Call<String>> follower : calls.subList(1, calls.size())) {
+            follower.get(5, TimeUnit.SECONDS);
+        }
+        release.countDown();
+
+        for (Future<SingleFlight.Call<String>> call : calls) {
+            SingleFlight.Call<String> result = call.get(5, TimeUnit.SECONDS);
+            IllegalStateException thrown = expectThrows(IllegalStateException.class, result::get);
+            assertSame(thrown, failure);
+        }
+        assertEquals(flight.inFlightCount(), 0);
+    }
+
+    @Test
+    public void nothingIsCachedOnceTheCallCompletes() {
+        SingleFlight<String, String> flight = new SingleFlight<>();
+        AtomicInteger runs = new AtomicInteger();
+        SingleFlight.Call<String> first = flight.execute("Password", () -> "first " + runs.incrementAndGet());
+        SingleFlight.Call<String> second = flight.execute("Password", () -> "second " + runs.incrementAndGet());
+
+        assertTrue(first.isLeader());
+        assertTrue(second.isLeader());
+        assertEquals(first.get(), "first 1");
+        assertEquals(second.get(), "second 2");
+    }
+
+    @Test
+    public void differentKeysDoNotWaitForEachOther() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>();
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<SingleFlight.Call<String>>> calls = coalesce(flight, new AtomicInteger(), release, null);
+        try {
+            SingleFlight.Call<String> other = flight.execute("Password", () -> "//input[@id='Password']");
+            assertTrue(other.isLeader());
+            assertEquals(other.get(), "//input[@id='Password']");
+        } finally {
+            release.countDown();
+        }
+        assertEquals(calls.get(0).get(5, TimeUnit.SECONDS).get(), "//input[@id='UserName']");
+    }
+}
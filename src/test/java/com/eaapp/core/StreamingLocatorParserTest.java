@@ -0,0 +1,80 @@
+package com.eaapp.core;
+
+import static org.testng.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+public class StreamingLocatorParserTest {
+    private static final String COMPLETION = "```json\n[\"//input[@id='UserName']\", "
+            + "\"//a[text()=\\\"Log in\\\"]\", \"//td[contains(., 'a\\\\b')]\", \"//span[text()='\\u00e9t\\u00e9']\"]\n```";
+    private static final List<String> LOCATORS = Arrays.asList("//input[@id='UserName']",
+            "//a[text()=\"Log in\"]", "//td[contains(., 'a\\b')]", "//span[text()='\u00e9t\u00e9']");
+
+    private static List<String> feedAll(StreamingLocatorParser parser, String... deltas) {
+        List<String> parsed = new ArrayList<>();
+        for (String delta : deltas) {
+            parsed.addAll(parser.feed(delta));
+        }
+        return parsed;
+    }
+
+    @Test
+    public void wholeCompletionInOneDelta() {
+        StreamingLocatorParser parser = new StreamingLocatorParser();
+        assertEquals(feedAll(parser, COMPLETION), LOCATORS);
+        assertTrue(parser.isFinished());
+        assertEquals(parser.getCount(), 4);
+    }
+
+    @Test
+    public void everySplitPointGivesTheSameElements() {
+        // Covers splits inside the fence, between a backslash and what it escapes, and at every quote
+        for (int split = 0; split <= COMPLETION.length(); split++) {
+            StreamingLocatorParser parser = new StreamingLocatorParser();
+            assertEquals(feedAll(parser, COMPLETION.substring(0, split), COMPLETION.substring(split)), LOCATORS,
+                    "split at " + split);
+            assertTrue(parser.isFinished(), "split at " + split);
+        }
+    }
+
+    @Test
+    public void oneCharacterPerDelta() {
+        StreamingLocatorParser parser = new StreamingLocatorParser();
+        String[] deltas = COMPLETION.split("");
+        assertEquals(feedAll(parser, deltas), LOCATORS);
+    }
+
+    @Test
+    public void elementIsReturnedByTheDeltaThatClosesIt() {
+        StreamingLocatorParser parser = new StreamingLocatorParser();
+        assertEquals(parser.feed("[\"//input[@id='Pass"), Collections.emptyList());
+        assertEquals(parser.feed("word']"), Collections.emptyList(), "the bracket is inside the string");
+        assertEquals(parser.feed("\", \"//input"), Arrays.asList("//input[@id='Password']"));
+        assertFalse(parser.isFinished());
+        assertEquals(parser.getCount(), 1);
+    }
+
+    @Test
+    public void inputAfterTheClosingBracketIsIgnored() {
+        StreamingLocatorParser parser = new StreamingLocatorParser();
+        assertEquals(parser.feed("[\"//a\"] [\"//b\"]"), Arrays.asList("//a"));
+        assertEquals(parser.feed("\"//c\""), Collections.emptyList());
+        assertEquals(parser.getCount(), 1);
+    }
+
+    @Test
+    public void nothingBeforeTheOpeningBracketIsParsed() {
+        StreamingLocatorParser parser = new StreamingLocatorParser();
+        assertEquals(parser.feed("Here are \"quoted\" words, then "), Collections.emptyList());
+        assertEquals(parser.feed(null), Collections.emptyList());
+        assertEquals(parser.feed(""), Collections.emptyList());
+        assertEquals(parser.feed("[]"), Collections.emptyList());
+        assertTrue(parser.isFinished());
+        assertEquals(parser.getCount(), 0);
+    }
+}
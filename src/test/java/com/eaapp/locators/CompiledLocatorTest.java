@@ -0,0 +1,95 @@
+package com.eaapp.locators;
+
+import static org.testng.Assert.*;
+
+import org.testng.annotations.Test;
+
+public class CompiledLocatorTest {
+
+    @Test
+    public void idEqualsBecomesAnIdSelector() {
+        assertEquals(CompiledLocator.cssEquivalent("//input[@id='UserName']"), "input#UserName");
+        assertEquals(CompiledLocator.cssEquivalent("//*[@id=\"loginLink\"]"), "#loginLink");
+        assertEquals(CompiledLocator.cssEquivalent("  //a[ @id = 'registerLink' ]  "), "a#registerLink");
+    }
+
+    @Test
+    public void idThatIsNoCssIdentifierBecomesAnAttributeSelector() {
+        assertEquals(CompiledLocator.cssEquivalent("//div[@id='1st-row']"), "div[id='1st-row']");
+        assertEquals(CompiledLocator.cssEquivalent("//div[@id='a.b']"), "div[id='a.b']");
+    }
+
+    @Test
+    public void otherAttributesBecomeAttributeSelectors() {
+        assertEquals(CompiledLocator.cssEquivalent("//input[@value='Log in']"), "input[value='Log in']");
+        assertEquals(CompiledLocator.cssEquivalent("//*[@data-test-id='save']"), "[data-test-id='save']");
+    }
+
+    @Test
+    public void anythingBeyondOneAttributeTestHasNoCssForm() {
+        assertNull(CompiledLocator.cssEquivalent("//a[text()='Employee List']"));
+        assertNull(CompiledLocator.cssEquivalent("//input[contains(@id,'Name')]"));
+        assertNull(CompiledLocator.cssEquivalent("//form//input[@id='Name']"));
+        assertNull(CompiledLocator.cssEquivalent("//input[@id='Name'][2]"));
+        assertNull(CompiledLocator.cssEquivalent("//input[@name=\"it's\"]"));
+        assertNull(CompiledLocator.cssEquivalent("//input[@name='a\\b']"));
+        assertNull(CompiledLocator.cssEquivalent("/html/body/input[@id='Name']"));
+    }
+
+    @Test
+    public void compiledLocatorUsesTheCssWhenThereIsOne() {
+        CompiledLocator simple = CompiledLocator.compile("//input[@id='Password']");
+        assertTrue(simple.isValid());
+        assertEquals(simple.getCss(), "input#Password");
+        assertEquals(simple.getBy().toString(), "By.cssSelector: input#Password");
+
+        CompiledLocator xpathOnly = CompiledLocator.compile("//a[text()='Log in']");
+        assertNull(xpathOnly.getCss());
+        assertEquals(xpathOnly.getBy().toString(), "By.xpath: //a[text()='Log in']");
+    }
+
+    @Test
+    public void malformedXPathIsRecordedNotThrown() {
+        CompiledLocator broken = CompiledLocator.compile("//input[@id='Name'");
+        assertFalse(broken.isValid());
+        assertNotNull(broken.getError());
+        assertNull(broken.getBy());
+    }
+
+    @Test
+    public void positionalLastStepsHaveAParent() {
+        assertEquals(CompiledLocator.positionalParent("//table[@class='table']//tbody/tr[position() > 1]"),
+                "//table[@class='table']//tbody");
+        assertEquals(CompiledLocator.positionalParent("//table//tr[2]/td[1]"), "//table//tr[2]");
+        assertEquals(CompiledLocator.positionalParent("//ul[@id='menu']/li[last()]"), "//ul[@id='menu']");
+        assertEquals(CompiledLocator.positionalParent("//div[@id='grid']/*[3]"), "//div[@id='grid']");
+        assertEquals(CompiledLocator.positionalParent("//div[@id='grid']/span[ 1 ][position() != 2]"),
+                "//div[@id='grid']");
+    }
+
+    @Test
+    public void bareStepsOnlyCountForListAndTableChildren() {
+        assertEquals(CompiledLocator.positionalParent("//table[@class='table']//tbody/tr"),
+                "//table[@class='table']//tbody");
+        assertEquals(CompiledLocator.positionalParent("//ul[@id='menu']/li"), "//ul[@id='menu']");
+        assertEquals(CompiledLocator.positionalParent("//select[@id='Grade']/option"), "//select[@id='Grade']");
+        assertNull(CompiledLocator.positionalParent("//form[@id='login']/div"));
+        assertNull(CompiledLocator.positionalParent("//div[@id='grid']/*"));
+        assertNull(CompiledLocator.positionalParent("//table/tbody/track"));
+    }
+
+    @Test
+    public void stepsTestingAttributesOrTextHaveNoParent() {
+        assertNull(CompiledLocator.positionalParent("//table//tr[@class='selected']"));
+        assertNull(CompiledLocator.positionalParent("//ul/li[text()='Home']"));
+        assertNull(CompiledLocator.positionalParent("//ul/li[contains(., 'a/b')]"));
+    }
+
+    @Test
+    public void slashesInsidePredicatesAndStringsAreNotSteps() {
+        assertEquals(CompiledLocator.positionalParent("//div[@data-path='a/b']/ul[a/b]/li[1]"),
+                "//div[@data-path='a/b']/ul[a/b]");
+        assertNull(CompiledLocator.positionalParent("//tr"), "nothing is left above a root step");
+        assertNull(CompiledLocator.positionalParent("tr[1]"));
+    }
+}
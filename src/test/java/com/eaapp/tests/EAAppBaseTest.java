@@ -11,40 +11,61 @@ import org.openqa.selenium.chrome.ChromeDriver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.testng.annotations.AfterClass;
+import org.testng.annotations.AfterMethod;
 import org.testng.annotations.AfterSuite;
 import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.BeforeSuite;
 
 import com.eaapp.core.EAAppElementFinder;
+import com.eaapp.core.ElementText;
+import com.eaapp.core.HealingMetrics;
+import com.eaapp.core.PageElements;
+import com.eaapp.core.TextMatch;
 import com.eaapp.utils.ConfigReader;
+import com.eaapp.utils.WebDriverPool;
 
 import io.github.bonigarcia.wdm.WebDriverManager;
+import io.qameta.allure.Allure;
 
 
 public class EAAppBaseTest {
     protected static final Logger logger = LoggerFactory.getLogger(EAAppBaseTest.class);
-    private static WebDriver driver;  // private static
     private static final Object lock = new Object();
-    protected EAAppElementFinder elementFinder;
+    // One browser session per worker thread, borrowed from a bounded pool
+    private static final ThreadLocal<WebDriver> threadDriver = new ThreadLocal<>();
+    private static WebDriverPool driverPool;
+    // Shared by all test instances and threads, together with its healed-locator store
+    protected static EAAppElementFinder elementFinder;
     private static boolean suiteInitialized = false;
 
     private static final String HEALED_LOCATORS_FILE = "src/main/resources/healed_locators.json";
+    private static final String FINGERPRINTS_FILE = "src/main/resources/element_fingerprints.json";
     
-    @BeforeSuite
+    @BeforeSuite(alwaysRun = true)
     public void beforeSuite() {
         synchronized (lock) {
             if (!suiteInitialized) {
                 WebDriverManager.chromedriver().setup();
-                driver = new ChromeDriver();
-                driver.manage().window().maximize();
-                elementFinder = new EAAppElementFinder(driver, ConfigReader.getProperty("openai.api.key"));
+                driverPool = new WebDriverPool(() -> {
+                    WebDriver driver = new ChromeDriver();
+                    driver.manage().window().maximize();
+                    return driver;
+                }, ConfigReader.getIntProperty("driver.pool.size", 3),
+                        ConfigReader.getLongProperty("driver.pool.acquire.timeout.seconds", 300));
+                elementFinder = new EAAppElementFinder(ConfigReader.getProperty("openai.api.key"));
                 elementFinder.loadHealedLocatorsFromFile(HEALED_LOCATORS_FILE);
+                elementFinder.loadFingerprintsFromFile(FINGERPRINTS_FILE);
                 suiteInitialized = true;
                 
                 Runtime.getRuntime().addShutdownHook(new Thread(() -> {
-                    if (driver != null) {
-                        elementFinder.saveHealedLocatorsToFile(HEALED_LOCATORS_FILE);
-                        driver.quit();
+                    synchronized (lock) {
+                        if (driverPool != null) {
+                            elementFinder.saveHealedLocatorsToFile(HEALED_LOCATORS_FILE);
+                            elementFinder.saveFingerprintsToFile(FINGERPRINTS_FILE);
+                            elementFinder.close();
+                            driverPool.shutdown();
+                        }
                     }
                 }));
             }
@@ -56,30 +77,72 @@ public class EAAppBaseTest {
         // No need to initialize driver here anymore
     }
     
+    @BeforeMethod(alwaysRun = true)
+    public void beginMetrics() {
+        HealingMetrics.beginTestScope();
+    }
+    
+    @AfterMethod(alwaysRun = true)
+    public void attachMetrics() {
+        // Lookups made by this test on this thread only
+        HealingMetrics testMetrics = HealingMetrics.endTestScope();
+        if (!testMetrics.isEmpty()) {
+            attachMetrics("Healing metrics", testMetrics);
+        }
+    }
+    
+    @AfterMethod(alwaysRun = true)
+    public void releaseDriver() {
+        // Hand the session back so the next test on any thread can reuse it
+        WebDriver driver = threadDriver.get();
+        if (driver != null) {
+            threadDriver.remove();
+            if (elementFinder != null) {
+                // The pool resets the session, so its page source is stale for the next test
+                elementFinder.getDomSnapshots().invalidate(driver);
+            }
+            driverPool.release(driver);
+        }
+    }
+    
     @AfterClass
     public void tearDown() {
         // Don't quit the driver here - let @AfterSuite handle it
     }
     
-    @AfterSuite
+    @AfterSuite(alwaysRun = true)
     public void afterSuite() {
         synchronized (lock) {
-            if (driver != null) {
+            if (driverPool != null) {
                 try {
                     elementFinder.saveHealedLocatorsToFile(HEALED_LOCATORS_FILE);
-                    logger.info("Saving healed locators and closing browser");
+                    elementFinder.saveFingerprintsToFile(FINGERPRINTS_FILE);
+                    logger.info("Saving healed locators and closing browsers");
+                    logger.info("AI HTTP connection pool: {}", elementFinder.getConnectionPoolStats());
+                    attachMetrics("Suite healing metrics", elementFinder.getMetrics());
+                    elementFinder.close();
                 } catch (Exception e) {
                     logger.error("Error while saving healed locators", e);
                 }
-                driver.quit();
-                driver = null;
+                driverPool.shutdown();
+                driverPool = null;
                 suiteInitialized = false;
             }
         }
     }
     
-    // Helper method to access driver
+    private static void attachMetrics(String name, HealingMetrics metrics) {
+        Allure.addAttachment(name + " (JSON)", "application/json", metrics.toJson(), ".json");
+        Allure.addAttachment(name + " (CSV)", "text/csv", metrics.toCsv(), ".csv");
+    }
+    
+    // Helper method to access the current thread's driver, borrowing one on first use
     protected WebDriver getDriver() {
+        WebDriver driver = threadDriver.get();
+        if (driver == null) {
+            driver = driverPool.acquire();
+            threadDriver.set(driver);
+        }
         return driver;
     }
     protected void navigateToLoginPage() {
@@ -88,9 +151,15 @@ public class EAAppBaseTest {
     }
     
     protected void login(String username, String password) {
-        sendKeys("UserName", username);
-        sendKeys("Password", password);
-        clickElement("LoginButton");
+        PageElements loginPage = resolvePage("Login");
+        loginPage.get("UserName").sendKeys(username);
+        loginPage.get("Password").sendKeys(password);
+        loginPage.get("LoginButton").click();
+    }
+    
+    // All of a page's elements in one round trip; resolve again once the page has navigated
+    protected PageElements resolvePage(String pageName) {
+        return elementFinder.resolvePage(getDriver(), pageName);
     }
     
     protected void clickElement(String elementKey) {
@@ -105,6 +174,11 @@ public class EAAppBaseTest {
         elementFinder.findElement(getDriver(),elementKey).sendKeys(text);
     }
     
+    // Returns as soon as the element is visible, instead of sleeping for a fixed time
+    protected WebElement waitForElement(String elementKey) {
+        return elementFinder.waitForElement(getDriver(), elementKey);
+    }
+    
     protected String getElementText(String elementKey) {
         return elementFinder.findElement(getDriver(),elementKey).getText();
     }
@@ -113,30 +187,14 @@ public class EAAppBaseTest {
         return random.nextInt(maxHours - minHours + 1) + minHours;
     }
     protected boolean isEmployeePresent(String elements, String expectedText) {
-        List<WebElement> employeeNameList = elementFinder.findElements(getDriver(),elements);
-        
-        if (employeeNameList.isEmpty()) {
-            logger.info("No employees found in the list");
-            return false;
-        }
-
-        boolean found = false;
-        for (WebElement element : employeeNameList) {
-            String employeeName = element.getText().trim();
-            logger.debug("Checking employee name: {}", employeeName);
-            
-            if (employeeName.equals(expectedText)) {
-                found = true;
-                logger.info("Employee found in the list: {}", expectedText);
-                break;
-            }
-        }
-
-        if (!found) {
+        // Filtered in the browser, so the check is one round trip however long the list is
+        List<ElementText> matches = elementFinder.findTexts(getDriver(), elements, TextMatch.equalTo(expectedText));
+        if (matches.isEmpty()) {
             logger.info("Employee not found in the list: {}", expectedText);
+            return false;
         }
-        
-        return found;
+        logger.info("Employee found in the list: {}", expectedText);
+        return true;
     }
 
 }
@@ -3,6 +3,9 @@ package com.eaapp.tests;
 import java.util.List;
 
 import org.openqa.selenium.WebElement;
+
+import com.eaapp.core.ElementText;
+
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertTrue;
@@ -84,8 +87,8 @@ public class EmployeeNavigationTest extends EAAppBaseTest {
         // Verify search results
         logger.info("Verifying search results for: {}", uniqueEmployeeName);
         
-        // Get all data rows in the employee table after search (excluding header row)
-        List<WebElement> tableRows = elementFinder.findElements(getDriver(), "EmployeeTableDataRows");
+        // Get the text of all data rows in the employee table after search (excluding header row)
+        List<ElementText> tableRows = elementFinder.findTexts(getDriver(), "EmployeeTableDataRows");
         
         // Verify that we have exactly one result
         assertEquals(tableRows.size(), 1, "Search should return exactly one employee");
@@ -103,11 +106,11 @@ public class EmployeeNavigationTest extends EAAppBaseTest {
         clickElement("SearchButton");
         
         // Verify partial search results
-        tableRows = elementFinder.findElements(getDriver(), "EmployeeTableDataRows");
+        tableRows = elementFinder.findTexts(getDriver(), "EmployeeTableDataRows");
         assertFalse(tableRows.isEmpty(), "Partial search should return at least one result");
         
         boolean foundEmployee = false;
-        for (WebElement row : tableRows) {
+        for (ElementText row : tableRows) {
             if (row.getText().contains(uniqueEmployeeName)) {
                 foundEmployee = true;
                 break;
@@ -256,7 +259,7 @@ public class EmployeeNavigationTest extends EAAppBaseTest {
         clickElement("SearchButton");
         
         // Get the initial row data for later comparison
-        List<WebElement> initialRows = elementFinder.findElements(getDriver(), "EmployeeTableDataRows");
+        List<ElementText> initialRows = elementFinder.findTexts(getDriver(), "EmployeeTableDataRows");
         String initialRowText = initialRows.get(0).getText();
         logger.info("Initial employee data: {}", initialRowText);
         
@@ -289,12 +292,8 @@ public class EmployeeNavigationTest extends EAAppBaseTest {
         logger.info("Saving updated employee details");
         clickElement("SaveButton");
         
-        // Add a small wait to allow for redirection
-        try {
-            Thread.sleep(1000);
-        } catch (InterruptedException e) {
-            logger.error("Sleep interrupted", e);
-        }
+        // Wait for the redirection to the list page
+        waitForElement("SearchBox");
         
         // Verify we are redirected back to the Employee List page
         String currentUrl = getDriver().getCurrentUrl();
@@ -310,7 +309,7 @@ public class EmployeeNavigationTest extends EAAppBaseTest {
         clickElement("SearchButton");
         
         // Verify the updated employee details are displayed in the list
-        List<WebElement> tableRows = elementFinder.findElements(getDriver(), "EmployeeTableDataRows");
+        List<ElementText> tableRows = elementFinder.findTexts(getDriver(), "EmployeeTableDataRows");
         assertFalse(tableRows.isEmpty(), "Updated employee should be found in search results");
         
         String updatedRowText = tableRows.get(0).getText();
@@ -328,12 +327,12 @@ public class EmployeeNavigationTest extends EAAppBaseTest {
         sendKeys("SearchBox", initialName);
         clickElement("SearchButton");
         
-        tableRows = elementFinder.findElements(getDriver(), "EmployeeTableDataRows");
+        tableRows = elementFinder.findTexts(getDriver(), "EmployeeTableDataRows");
         
         // If we find results, verify they contain the updated name, not just the original name
         if (!tableRows.isEmpty()) {
             boolean foundUpdatedName = false;
-            for (WebElement row : tableRows) {
+            for (ElementText row : tableRows) {
                 String rowText = row.getText();
                 if (rowText.contains(updatedName)) {
                     foundUpdatedName = true;
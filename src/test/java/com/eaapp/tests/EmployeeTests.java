@@ -3,6 +3,8 @@ package com.eaapp.tests;
 import static org.testng.Assert.assertTrue;
 import org.testng.annotations.Test;
 
+import com.eaapp.core.PageElements;
+
 import io.qameta.allure.Description;
 import io.qameta.allure.Severity;
 import io.qameta.allure.SeverityLevel;
@@ -23,14 +25,15 @@ public void testCreateNewEmployee() {
         clickElement("CreateNewLink");
         
         String employeeName = "HackathonTestUser" + System.currentTimeMillis();
-        sendKeys("Name", employeeName);
-        sendKeys("Salary", "50000");
+        PageElements form = resolvePage("CreateEmployee");
+        form.get("Name").sendKeys(employeeName);
+        form.get("Salary").sendKeys("50000");
         // Duration Worked
         int duration = getRandomNumDurationWorked(1, 124);
-        clear("DurationWorked");
-        sendKeys("DurationWorked",String.valueOf(duration));
-        clickElement("CreateButton");
-        
+        form.get("DurationWorked").clear();
+        form.get("DurationWorked").sendKeys(String.valueOf(duration));
+        form.get("CreateButton").click();
+        waitForElement("SearchBox");
         
         // Verify employee was created
         